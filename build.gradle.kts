@@ -10,6 +10,7 @@ import java.nio.file.StandardCopyOption
 plugins {
     java
     id("xyz.jpenilla.run-paper") version "2.3.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "sh.harold"
@@ -30,6 +31,17 @@ dependencies {
     compileOnly("io.papermc.paper:paper-api:1.21.10-R0.1-SNAPSHOT")
     compileOnly("com.github.haroldDOTsh.fulcrum:common-api:$fulcrumVersion") // Contracts, ranks, session/message APIs
     compileOnly("com.github.haroldDOTsh.fulcrum:runtime:$fulcrumVersion") // Paper runtime hooks (module development)
+    annotationProcessor(project(":cosmetic-processor")) // Generates the cosmetic index read by CosmeticRegistry
+
+    jmh("io.papermc.paper:paper-api:1.21.10-R0.1-SNAPSHOT") // Benchmarks run outside the server, so the API must be on the classpath
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc") // Allocation rate alongside throughput
+    resultFormat.set("JSON")
 }
 
 tasks.register("updateFulcrumRuntime") {
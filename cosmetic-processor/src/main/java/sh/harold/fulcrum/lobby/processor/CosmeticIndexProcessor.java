@@ -0,0 +1,270 @@
+package sh.harold.fulcrum.lobby.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Emits {@code GeneratedCosmeticIndex} and its service registration for every class annotated with
+ * {@code @CosmeticMetadata}, so the registry can load descriptors and constructors without scanning the jar.
+ */
+public final class CosmeticIndexProcessor extends AbstractProcessor {
+    private static final String METADATA = "sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata";
+    private static final String COSMETIC = "sh.harold.fulcrum.lobby.cosmetics.Cosmetic";
+    private static final String DESCRIPTOR = "sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor";
+    private static final String RARITY = "sh.harold.fulcrum.lobby.cosmetics.CosmeticRarity";
+    private static final String INDEX_PACKAGE = "sh.harold.fulcrum.lobby.cosmetics.registry";
+    private static final String INDEX_INTERFACE = INDEX_PACKAGE + ".CosmeticIndex";
+    private static final String INDEX_CLASS = "GeneratedCosmeticIndex";
+
+    private final Map<String, IndexEntry> entries = new LinkedHashMap<>();
+    private final List<Element> originating = new ArrayList<>();
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+    private Filer filer;
+    private boolean written;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.filer = processingEnv.getFiler();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(METADATA);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement metadata = elements.getTypeElement(METADATA);
+        if (metadata != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(metadata)) {
+                if (written) {
+                    error(element, "@CosmeticMetadata on a generated type cannot join the already written index");
+                    continue;
+                }
+                collect(element, metadata);
+            }
+        }
+        // Written in the first round rather than the last so javac still compiles the generated source.
+        if (!written && !roundEnv.processingOver() && !entries.isEmpty()) {
+            written = true;
+            writeIndex();
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private void collect(Element element, TypeElement metadata) {
+        if (element.getKind() != ElementKind.CLASS) {
+            error(element, "@CosmeticMetadata can only be applied to classes");
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@CosmeticMetadata class must not be abstract");
+            return;
+        }
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            error(type, "@CosmeticMetadata class must be public so the generated index can construct it");
+            return;
+        }
+        TypeElement cosmetic = elements.getTypeElement(COSMETIC);
+        if (cosmetic != null && !types.isAssignable(type.asType(), types.erasure(cosmetic.asType()))) {
+            error(type, "@CosmeticMetadata class must implement Cosmetic");
+            return;
+        }
+        if (!hasDescriptorConstructor(type)) {
+            error(type, "@CosmeticMetadata class needs a public constructor accepting CosmeticDescriptor");
+            return;
+        }
+        AnnotationMirror mirror = findMirror(type, metadata);
+        if (mirror == null) {
+            return;
+        }
+        Map<String, Object> values = readValues(mirror);
+        String id = String.valueOf(values.get("id"));
+        String key = id.trim().toLowerCase(Locale.ROOT);
+        IndexEntry existing = entries.get(key);
+        if (existing != null) {
+            error(type, "Duplicate cosmetic id '" + id + "' also declared by " + existing.className());
+            return;
+        }
+        entries.put(key, new IndexEntry(
+                type.getQualifiedName().toString(),
+                id,
+                String.valueOf(values.get("name")),
+                String.valueOf(values.get("description")),
+                enumConstant(values.get("icon")),
+                enumConstant(values.get("rarity")),
+                values.get("limited") == null ? "" : String.valueOf(values.get("limited"))
+        ));
+        originating.add(type);
+    }
+
+    private boolean hasDescriptorConstructor(TypeElement type) {
+        TypeElement descriptor = elements.getTypeElement(DESCRIPTOR);
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() != ElementKind.CONSTRUCTOR || !enclosed.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = ((ExecutableElement) enclosed).getParameters();
+            if (parameters.size() != 1) {
+                continue;
+            }
+            TypeMirror parameter = parameters.get(0).asType();
+            if (descriptor == null || types.isSameType(parameter, descriptor.asType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror findMirror(TypeElement type, TypeElement metadata) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (types.isSameType(mirror.getAnnotationType(), metadata.asType())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> readValues(AnnotationMirror mirror) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        return values;
+    }
+
+    private String enumConstant(Object value) {
+        if (value instanceof VariableElement constant) {
+            return constant.getSimpleName().toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private void writeIndex() {
+        try {
+            JavaFileObject source = filer.createSourceFile(INDEX_PACKAGE + "." + INDEX_CLASS,
+                    originating.toArray(Element[]::new));
+            try (Writer writer = source.openWriter()) {
+                writer.write("package " + INDEX_PACKAGE + ";\n\n");
+                writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+                writer.write("public final class " + INDEX_CLASS + " implements " + INDEX_INTERFACE + " {\n");
+                writer.write("    @Override\n");
+                writer.write("    public java.util.List<IndexedCosmetic> cosmetics() {\n");
+                writer.write("        return java.util.List.of(\n");
+                int remaining = entries.size();
+                for (IndexEntry entry : entries.values()) {
+                    writer.write(entry.render());
+                    writer.write(--remaining > 0 ? ",\n" : "\n");
+                }
+                writer.write("        );\n");
+                writer.write("    }\n");
+                writer.write("}\n");
+            }
+        } catch (IOException exception) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write cosmetic index: " + exception.getMessage());
+        }
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + INDEX_INTERFACE, originating.toArray(Element[]::new));
+            try (Writer writer = resource.openWriter()) {
+                writer.write(INDEX_PACKAGE + "." + INDEX_CLASS + "\n");
+            }
+        } catch (IOException exception) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write cosmetic index service file: "
+                    + exception.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private record IndexEntry(
+            String className,
+            String id,
+            String name,
+            String description,
+            String icon,
+            String rarity,
+            String limited
+    ) {
+        private String render() {
+            String limitedLore = limited.isBlank()
+                    ? "java.util.Optional.empty()"
+                    : "java.util.Optional.of(" + quote(limited) + ")";
+            return "                new IndexedCosmetic(\n"
+                    + "                        new " + DESCRIPTOR + "(" + quote(id) + ", " + quote(name) + ", "
+                    + quote(description) + ",\n"
+                    + "                                org.bukkit.Material." + icon + ", "
+                    + RARITY + "." + rarity + ", " + limitedLore + "),\n"
+                    + "                        " + className + ".class,\n"
+                    + "                        " + className + "::new)";
+        }
+
+        private static String quote(String value) {
+            StringBuilder builder = new StringBuilder("\"");
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '"' -> builder.append("\\\"");
+                    case '\\' -> builder.append("\\\\");
+                    case '\n' -> builder.append("\\n");
+                    case '\r' -> builder.append("\\r");
+                    case '\t' -> builder.append("\\t");
+                    default -> {
+                        if (c < 0x20 || c > 0x7e) {
+                            builder.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            builder.append(c);
+                        }
+                    }
+                }
+            }
+            return builder.append('"').toString();
+        }
+    }
+}
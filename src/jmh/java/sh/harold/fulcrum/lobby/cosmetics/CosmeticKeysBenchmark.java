@@ -0,0 +1,85 @@
+package sh.harold.fulcrum.lobby.cosmetics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost of the flat cosmetic keys the runtime resolves on every loadout and suit refresh. The
+ * {@link CosmeticKeys} adapters resolve through the {@link CosmeticKey} table, which the registry fills
+ * at startup; the ids below are interned the same way. {@link #unknownKey} measures input the registry
+ * does not know, which is parsed without being interned.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CosmeticKeysBenchmark {
+    private static final String[] PIECE_KEYS = {
+            "suit:frost_knight:head",
+            "suit:frost_knight:chest",
+            "SUIT:Frost_Knight:leggings",
+            "suit:ember_guard:boots"
+    };
+    private static final String[] IDS = {
+            "trail:ember_helix",
+            "cloak:angel_wings",
+            "click:spark_burst",
+            "suit:frost_knight"
+    };
+
+    private static final SuitSlot[] SLOTS = SuitSlot.values();
+
+    static {
+        for (String id : IDS) {
+            CosmeticKey.intern(id);
+        }
+        CosmeticKey.intern("suit:ember_guard");
+    }
+
+    private int cursor;
+
+    @Benchmark
+    public void setIdFromPieceKey(Blackhole blackhole) {
+        blackhole.consume(CosmeticKeys.setIdFromPieceKey(PIECE_KEYS[next()]));
+    }
+
+    @Benchmark
+    public void suitSlotFromPieceKey(Blackhole blackhole) {
+        blackhole.consume(CosmeticKeys.suitSlotFromPieceKey(PIECE_KEYS[next()]));
+    }
+
+    @Benchmark
+    public void categoryFromId(Blackhole blackhole) {
+        blackhole.consume(CosmeticKeys.categoryFromId(IDS[next()]));
+    }
+
+    @Benchmark
+    public void suitPieceKey(Blackhole blackhole) {
+        blackhole.consume(CosmeticKeys.suitPieceKey("suit:frost_knight", SLOTS[next()]));
+    }
+
+    @Benchmark
+    public void internedKey(Blackhole blackhole) {
+        CosmeticKey key = CosmeticKey.of(PIECE_KEYS[next()]);
+        blackhole.consume(key.setId());
+        blackhole.consume(key.suitSlot());
+    }
+
+    @Benchmark
+    public void unknownKey(Blackhole blackhole) {
+        CosmeticKey key = CosmeticKey.of("suit:unreleased_set:" + SLOTS[next()].storageSuffix());
+        blackhole.consume(key.setId());
+        blackhole.consume(key.suitSlot());
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & 3;
+        return cursor;
+    }
+}
@@ -0,0 +1,67 @@
+package sh.harold.fulcrum.lobby.cosmetics.examples;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.Vector3d;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-wearer cost of the ember helix trail writing into a reused batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmberHelixTrailBenchmark {
+    private static final int CONTEXTS = 1024;
+
+    private EmberHelixTrail trail;
+    private PlayerContext[] contexts;
+    private ParticleBatch batch;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        trail = new EmberHelixTrail(CosmeticDescriptor.fromMetadata(
+                EmberHelixTrail.class.getAnnotation(CosmeticMetadata.class)));
+        SplittableRandom random = new SplittableRandom(7L);
+        UUID worldId = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        contexts = new PlayerContext[CONTEXTS];
+        for (int i = 0; i < CONTEXTS; i++) {
+            contexts[i] = new PlayerContext(
+                    UUID.randomUUID(),
+                    worldId,
+                    new Vector3d(random.nextDouble(-64.0D, 64.0D), 64.0D, random.nextDouble(-64.0D, 64.0D)),
+                    new Vector3d(random.nextDouble(-0.3D, 0.3D), 0.0D, random.nextDouble(-0.3D, 0.3D)),
+                    (float) random.nextDouble(-180.0D, 180.0D),
+                    0.0F,
+                    true,
+                    now + i * 50L
+            );
+        }
+        batch = new ParticleBatch();
+    }
+
+    @Benchmark
+    public int emit() {
+        PlayerContext ctx = contexts[cursor];
+        cursor = (cursor + 1) & (CONTEXTS - 1);
+        batch.clear();
+        batch.begin(ctx);
+        trail.emit(batch, ctx);
+        return batch.size();
+    }
+}
@@ -0,0 +1,88 @@
+package sh.harold.fulcrum.lobby.cosmetics.examples;
+
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.Vector3d;
+
+import java.util.Map;
+
+/**
+ * Pre-cache pattern cloak emission kept as a benchmark baseline: rebuilds the basis and looks up the
+ * boxed palette for every pixel on every tick.
+ */
+final class LegacyPatternCloak extends PatternCloakCosmetic {
+    private final int[][] pattern;
+    private final Map<Integer, Pixel> palette;
+    private final double horizontalSpacing;
+    private final double verticalSpacing;
+    private final double depthOffset;
+    private final double anchorHeight;
+
+    LegacyPatternCloak(
+            CosmeticDescriptor descriptor,
+            int[][] pattern,
+            Map<Integer, Pixel> palette,
+            double widthBlocks,
+            double heightBlocks,
+            double depthOffset,
+            double anchorHeight
+    ) {
+        super(descriptor, pattern, palette, widthBlocks, heightBlocks, depthOffset, anchorHeight);
+        this.pattern = pattern;
+        this.palette = palette;
+        int width = pattern[0].length;
+        int height = pattern.length;
+        this.horizontalSpacing = width <= 1 ? 0.0D : widthBlocks / (width - 1);
+        this.verticalSpacing = height <= 1 ? 0.0D : heightBlocks / (height - 1);
+        this.depthOffset = depthOffset;
+        this.anchorHeight = anchorHeight;
+    }
+
+    @Override
+    public void emit(ParticleBatch batch, PlayerContext ctx) {
+        int height = pattern.length;
+        int width = pattern[0].length;
+        double halfWidth = (width - 1) / 2.0D;
+        double halfHeight = (height - 1) / 2.0D;
+
+        double yawRadians = Math.toRadians(ctx.yaw());
+        double backX = Math.sin(yawRadians);
+        double backZ = -Math.cos(yawRadians);
+        double rightX = -backZ;
+        double rightZ = backX;
+        Vector3d position = ctx.position();
+        double anchorX = position.x() + backX * depthOffset;
+        double anchorY = position.y() + anchorHeight;
+        double anchorZ = position.z() + backZ * depthOffset;
+
+        double time = ctx.epochMillis() * 0.004D;
+        double flutter = Math.sin(time) * 0.05D;
+
+        for (int row = 0; row < height; row++) {
+            double verticalOffset = (halfHeight - row) * verticalSpacing;
+            for (int column = 0; column < width; column++) {
+                int value = pattern[row][column];
+                Pixel pixel = palette.get(value);
+                if (pixel == null) {
+                    continue;
+                }
+                double horizontalOffset = (column - halfWidth) * horizontalSpacing;
+                Vector3d pixelOffset = pixel.offset();
+                batch.add(
+                        pixel.particle(),
+                        anchorX + rightX * horizontalOffset + backX * flutter + pixelOffset.x(),
+                        anchorY + verticalOffset + pixelOffset.y(),
+                        anchorZ + rightZ * horizontalOffset + backZ * flutter + pixelOffset.z(),
+                        0.0D,
+                        0.0D,
+                        0.0D,
+                        pixel.count(),
+                        pixel.extra(),
+                        pixel.data(),
+                        pixel.force()
+                );
+            }
+        }
+    }
+}
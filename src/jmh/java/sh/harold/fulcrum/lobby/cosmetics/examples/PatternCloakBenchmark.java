@@ -0,0 +1,81 @@
+package sh.harold.fulcrum.lobby.cosmetics.examples;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.Vector3d;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached pattern cloak against the per-tick basis rebuild it replaced, ticking a rotating
+ * set of idle players with varied yaw and timestamps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PatternCloakBenchmark {
+    private static final int CONTEXTS = 1024;
+
+    private PatternCloakCosmetic cached;
+    private PatternCloakCosmetic legacy;
+    private PlayerContext[] contexts;
+    private ParticleBatch batch;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CosmeticDescriptor descriptor = CosmeticDescriptor.fromMetadata(
+                AngelWingCloak.class.getAnnotation(CosmeticMetadata.class));
+        cached = new AngelWingCloak(descriptor);
+        legacy = new LegacyPatternCloak(descriptor, AngelWingCloak.PATTERN, AngelWingCloak.PALETTE,
+                3.0D, 3.0D, 0.45D, 1.25D);
+        SplittableRandom random = new SplittableRandom(42L);
+        UUID worldId = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        contexts = new PlayerContext[CONTEXTS];
+        for (int i = 0; i < CONTEXTS; i++) {
+            contexts[i] = new PlayerContext(
+                    UUID.randomUUID(),
+                    worldId,
+                    new Vector3d(random.nextDouble(-64.0D, 64.0D), 64.0D, random.nextDouble(-64.0D, 64.0D)),
+                    Vector3d.ZERO,
+                    (float) random.nextDouble(-180.0D, 180.0D),
+                    0.0F,
+                    true,
+                    now + random.nextInt(2_000)
+            );
+        }
+        batch = new ParticleBatch();
+    }
+
+    @Benchmark
+    public int cachedFrames() {
+        return emit(cached);
+    }
+
+    @Benchmark
+    public int legacyBasisRebuild() {
+        return emit(legacy);
+    }
+
+    private int emit(PatternCloakCosmetic cloak) {
+        PlayerContext ctx = contexts[cursor];
+        cursor = (cursor + 1) & (CONTEXTS - 1);
+        batch.clear();
+        batch.begin(ctx);
+        cloak.emit(batch, ctx);
+        return batch.size();
+    }
+}
@@ -0,0 +1,118 @@
+package sh.harold.fulcrum.lobby.cosmetics.loadout;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticKeys;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
+import sh.harold.fulcrum.lobby.cosmetics.SuitSlot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize and parse cost of the legacy map layout against the compact format. {@link #storedSize}
+ * reports the stored size of both as aux counters, counting the legacy map as the JSON a settings backend
+ * would write for it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoadoutCodecBenchmark {
+    @Param({"10", "100", "500"})
+    public int unlocks;
+
+    private CompactLoadoutCodec codec;
+    private LoadoutDocument document;
+    private Map<String, Object> legacyRaw;
+    private Map<String, Object> compactRaw;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < unlocks; i++) {
+            if (i % 3 == 0) {
+                String setId = "suit:benchmark_set_" + i;
+                for (SuitSlot slot : SuitSlot.values()) {
+                    keys.add(CosmeticKeys.suitPieceKey(setId, slot));
+                }
+            } else {
+                keys.add((i % 3 == 1 ? "trail:benchmark_trail_" : "cloak:benchmark_cloak_") + i);
+            }
+        }
+        codec = CompactLoadoutCodec.forKeys(keys);
+        document = new LoadoutDocument();
+        document.unlocked.addAll(keys.subList(0, unlocks));
+        document.equipped.put(CosmeticSlot.SUIT_HELMET, keys.get(0));
+        document.equipped.put(CosmeticSlot.SUIT_CHEST, keys.get(1));
+        document.equipped.put(CosmeticSlot.TRAIL, keys.get(4));
+        legacyRaw = CompactLoadoutCodec.encodeLegacy(document);
+        compactRaw = codec.encode(document);
+    }
+
+    @Benchmark
+    public Map<String, Object> encodeLegacy() {
+        return CompactLoadoutCodec.encodeLegacy(document);
+    }
+
+    @Benchmark
+    public Map<String, Object> encodeCompact() {
+        return codec.encode(document);
+    }
+
+    @Benchmark
+    public LoadoutDocument decodeLegacy() {
+        return CompactLoadoutCodec.decodeLegacy(legacyRaw);
+    }
+
+    @Benchmark
+    public LoadoutDocument decodeCompact() {
+        return codec.decode(compactRaw);
+    }
+
+    @Benchmark
+    public void storedSize(StoredSize size) {
+        size.legacyJsonBytes = jsonLength(legacyRaw);
+        size.compactBytes = jsonLength(compactRaw);
+    }
+
+    /**
+     * Sizes are assigned rather than accumulated, so each iteration reports the per-document value.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StoredSize {
+        public long legacyJsonBytes;
+        public long compactBytes;
+    }
+
+    private static int jsonLength(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            int length = 2 + Math.max(0, map.size() - 1);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                length += jsonLength(entry.getKey()) + 1 + jsonLength(entry.getValue());
+            }
+            return length;
+        }
+        if (value instanceof List<?> list) {
+            int length = 2 + Math.max(0, list.size() - 1);
+            for (Object element : list) {
+                length += jsonLength(element);
+            }
+            return length;
+        }
+        if (value instanceof String string) {
+            return string.length() + 2;
+        }
+        return String.valueOf(value).length();
+    }
+}
@@ -0,0 +1,57 @@
+package sh.harold.fulcrum.lobby.cosmetics.registry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sh.harold.fulcrum.lobby.cosmetics.Cosmetic;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
+import sh.harold.fulcrum.lobby.cosmetics.examples.EmberHelixTrail;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Instantiate throughput of the ways the registry can build a cosmetic: the reflective constructor it used
+ * to call, the metafactory-spun factory used for scanned classes and the constructor reference baked into
+ * the generated index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CosmeticFactoryBenchmark {
+    private CosmeticDescriptor descriptor;
+    private Constructor<EmberHelixTrail> constructor;
+    private Function<CosmeticDescriptor, Cosmetic> metafactory;
+    private Function<CosmeticDescriptor, ? extends Cosmetic> indexed;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        descriptor = CosmeticDescriptor.fromMetadata(EmberHelixTrail.class.getAnnotation(CosmeticMetadata.class));
+        constructor = EmberHelixTrail.class.getDeclaredConstructor(CosmeticDescriptor.class);
+        constructor.setAccessible(true);
+        metafactory = CosmeticFactories.forType(EmberHelixTrail.class);
+        indexed = new IndexedCosmetic(descriptor, EmberHelixTrail.class, EmberHelixTrail::new).factory();
+    }
+
+    @Benchmark
+    public Cosmetic reflectiveConstructor() throws ReflectiveOperationException {
+        return constructor.newInstance(descriptor);
+    }
+
+    @Benchmark
+    public Cosmetic lambdaMetafactory() {
+        return metafactory.apply(descriptor);
+    }
+
+    @Benchmark
+    public Cosmetic indexedConstructorReference() {
+        return indexed.apply(descriptor);
+    }
+}
@@ -0,0 +1,90 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
+import sh.harold.fulcrum.lobby.cosmetics.examples.AngelWingCloak;
+import sh.harold.fulcrum.lobby.cosmetics.examples.EmberHelixTrail;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.CosmeticTickExecutor.TickRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-frame tick cost for a synthetic lobby: every player wears the ember trail and every other player
+ * has the angel wing cloak active. Uses the runtime's default parallel threshold and pool size.
+ * {@code shared} switches between one instance per wearer and the flyweight instances the registry hands
+ * out for stateless cosmetics, which the executor ticks through batched {@code emitAll} calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CosmeticTickBenchmark {
+    @Param({"100", "500", "1000"})
+    public int players;
+
+    @Param({"false", "true"})
+    public boolean shared;
+
+    private ForkJoinPool pool;
+    private ParticleBatchPool batchPool;
+    private CosmeticTickExecutor executor;
+    private SnapshotArena.Frame snapshot;
+    private List<TickRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        pool = new ForkJoinPool(parallelism);
+        batchPool = new ParticleBatchPool(parallelism * 2);
+        executor = new CosmeticTickExecutor(pool, batchPool,
+                CosmeticRuntimeSettings.DEFAULT_PARALLEL_THRESHOLD, new CosmeticProfiler(), null);
+
+        CosmeticDescriptor trailDescriptor = CosmeticDescriptor.fromMetadata(
+                EmberHelixTrail.class.getAnnotation(CosmeticMetadata.class));
+        CosmeticDescriptor cloakDescriptor = CosmeticDescriptor.fromMetadata(
+                AngelWingCloak.class.getAnnotation(CosmeticMetadata.class));
+        SplittableRandom random = new SplittableRandom(11L);
+        UUID worldId = UUID.randomUUID();
+        snapshot = new SnapshotArena(1).acquire(System.currentTimeMillis());
+        EmberHelixTrail sharedTrail = new EmberHelixTrail(trailDescriptor);
+        AngelWingCloak sharedCloak = new AngelWingCloak(cloakDescriptor);
+        requests = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            int slot = snapshot.capture(UUID.randomUUID(), worldId,
+                    random.nextDouble(-64.0D, 64.0D), 64.0D, random.nextDouble(-64.0D, 64.0D),
+                    0.0D, 0.0D, 0.0D,
+                    (float) random.nextDouble(-180.0D, 180.0D), 0.0F, true, 1.0D);
+            requests.add(new TickRequest(shared ? sharedTrail : new EmberHelixTrail(trailDescriptor), null, slot));
+            if ((i & 1) == 0) {
+                requests.add(new TickRequest(shared ? sharedCloak : new AngelWingCloak(cloakDescriptor), null, slot));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public int runTicks() {
+        ParticleBatch batch = executor.run(snapshot, requests);
+        int size = batch.size();
+        batchPool.release(batch);
+        return size;
+    }
+}
@@ -15,6 +15,7 @@ import sh.harold.fulcrum.lobby.system.LobbyFeatureManager;
 import sh.harold.fulcrum.lobby.feature.LobbySlotProvisionFeature;
 import sh.harold.fulcrum.lobby.feature.LobbyScoreboardFeature;
 import sh.harold.fulcrum.lobby.feature.LobbyNametagFeature;
+import sh.harold.fulcrum.lobby.feature.LobbyRankFeature;
 import sh.harold.fulcrum.lobby.feature.LobbyCosmeticsFeature;
 import sh.harold.fulcrum.lobby.feature.StaffPunchFeature;
 import sh.harold.fulcrum.lobby.feature.RankFlightFeature;
@@ -64,6 +65,7 @@ public final class LobbyPlugin extends JavaPlugin implements FulcrumModule, Slot
 
     private void registerFeatures(LobbyFeatureManager manager) {
         manager.register(new ConfigLoaderFeature());
+        manager.register(new LobbyRankFeature());
         manager.register(new LobbyActionFlagFeature());
         manager.register(new LobbyJoinMessageFeature());
         manager.register(new LobbySlotProvisionFeature());
@@ -34,6 +34,7 @@ public final class LobbyConfiguration {
     private final String joinDonatorMessage;
     private final Set<String> joinDonatorRanks;
     private final String joinTopDonatorMessage;
+    private final Map<String, Object> environmentSettings;
 
     private LobbyConfiguration(Builder builder) {
         this.familyId = builder.familyId;
@@ -47,6 +48,7 @@ public final class LobbyConfiguration {
         this.joinDonatorMessage = builder.joinDonatorMessage;
         this.joinDonatorRanks = Collections.unmodifiableSet(new LinkedHashSet<>(builder.joinDonatorRanks));
         this.joinTopDonatorMessage = builder.joinTopDonatorMessage;
+        this.environmentSettings = Collections.unmodifiableMap(new LinkedHashMap<>(builder.environmentSettings));
     }
 
     public static LobbyConfiguration defaults() {
@@ -110,6 +112,14 @@ public final class LobbyConfiguration {
         return joinTopDonatorMessage;
     }
 
+    /**
+     * Raw settings from the environment descriptor, resolved once at startup for features that read their
+     * own keys through {@code EnvironmentSettings}. Empty when the descriptor was unavailable.
+     */
+    public Map<String, Object> environmentSettings() {
+        return environmentSettings;
+    }
+
     public SlotFamilyDescriptor toDescriptor() {
         SlotFamilyDescriptor.Builder builder = SlotFamilyDescriptor.builder(familyId, minPlayers, maxPlayers)
                 .playerEquivalentFactor(playerEquivalentFactor);
@@ -129,6 +139,7 @@ public final class LobbyConfiguration {
                 .joinDonatorMessage(joinDonatorMessage)
                 .joinDonatorRanks(joinDonatorRanks)
                 .joinTopDonatorMessage(joinTopDonatorMessage)
+                .environmentSettings(environmentSettings)
                 .addAllMetadata(descriptorMetadata);
     }
 
@@ -144,6 +155,7 @@ public final class LobbyConfiguration {
         private String joinDonatorMessage;
         private final Set<String> joinDonatorRanks = new LinkedHashSet<>(DEFAULT_DONATOR_RANKS);
         private String joinTopDonatorMessage;
+        private final Map<String, Object> environmentSettings = new LinkedHashMap<>();
 
         public Builder familyId(String familyId) {
             if (familyId == null || familyId.isBlank()) {
@@ -255,6 +267,18 @@ public final class LobbyConfiguration {
             return this;
         }
 
+        public Builder environmentSettings(Map<String, ?> settings) {
+            this.environmentSettings.clear();
+            if (settings != null) {
+                settings.forEach((key, value) -> {
+                    if (key != null && value != null) {
+                        this.environmentSettings.put(key, value);
+                    }
+                });
+            }
+            return this;
+        }
+
         public LobbyConfiguration build() {
             if (familyVariant == null || familyVariant.isBlank()) {
                 familyVariant = DEFAULT_FAMILY_VARIANT;
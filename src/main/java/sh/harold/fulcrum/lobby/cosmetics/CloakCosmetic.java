@@ -1,7 +1,9 @@
 package sh.harold.fulcrum.lobby.cosmetics;
 
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleInstruction;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.WearerGroup;
 
 import java.util.Collections;
 import java.util.List;
@@ -27,15 +29,56 @@ public abstract non-sealed class CloakCosmetic implements Cosmetic {
         return CosmeticCategory.CLOAK;
     }
 
+    /**
+     * Per-wearer state for {@link Stateless} cloaks; {@code null} when the cloak needs none.
+     */
+    public CosmeticState createState() {
+        return null;
+    }
+
     public void onIdleStart(PlayerContext ctx) {
         // No-op by default.
     }
 
+    public void onIdleStart(PlayerContext ctx, CosmeticState state) {
+        onIdleStart(ctx);
+    }
+
     public void onCancel(PlayerContext ctx) {
         // No-op by default.
     }
 
+    public void onCancel(PlayerContext ctx, CosmeticState state) {
+        onCancel(ctx);
+    }
+
     public List<ParticleInstruction> tick(PlayerContext ctx) {
         return Collections.emptyList();
     }
+
+    /**
+     * Emits the current cloak frame into the runtime's batch, falling back to {@link #tick(PlayerContext)}.
+     */
+    public void emit(ParticleBatch batch, PlayerContext ctx) {
+        batch.addAll(tick(ctx));
+    }
+
+    /**
+     * State-aware variant of {@link #emit(ParticleBatch, PlayerContext)}; stateful shared cloaks override this.
+     */
+    public void emit(ParticleBatch batch, PlayerContext ctx, CosmeticState state) {
+        emit(batch, ctx);
+    }
+
+    /**
+     * Called once per frame with every idle wearer sharing this instance. Overrides must open a segment
+     * with {@link ParticleBatch#begin(PlayerContext)} before writing each wearer's frame.
+     */
+    public void emitAll(ParticleBatch batch, WearerGroup wearers) {
+        for (int i = 0; i < wearers.size(); i++) {
+            PlayerContext ctx = wearers.context(i);
+            batch.begin(ctx);
+            emit(batch, ctx, wearers.state(i));
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package sh.harold.fulcrum.lobby.cosmetics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed form of a cosmetic id or flat key such as {@code trail:ember_helix} or {@code suit:frost_knight:head}.
+ *
+ * <p>Keys the registry knows are interned through {@link #intern(String)}: {@link #of(String)} then returns
+ * the same instance for every spelling that normalises to them, so the split/lowercase work happens once
+ * per key. Anything else, such as command arguments or stale keys in stored documents, is parsed into a
+ * fresh key that is never retained, so the table stays bounded by the catalogue. Equality is by value,
+ * which for two interned keys is identity.</p>
+ */
+public final class CosmeticKey {
+    /**
+     * Cap on non-canonical spellings of interned keys remembered as aliases.
+     */
+    private static final int MAX_ALIASES = 4_096;
+
+    private static final Map<String, CosmeticKey> CANONICAL = new ConcurrentHashMap<>();
+    private static final Map<String, CosmeticKey> ALIASES = new ConcurrentHashMap<>();
+
+    private final String value;
+    private final Optional<CosmeticCategory> category;
+    private final Optional<String> setId;
+    private final Optional<SuitSlot> suitSlot;
+    private final CosmeticKey[] pieceKeys = new CosmeticKey[SuitSlot.values().length];
+
+    private CosmeticKey(String value) {
+        this.value = value;
+        int separator = value.indexOf(':');
+        this.category = separator <= 0
+                ? Optional.empty()
+                : CosmeticCategory.fromPrefix(value.substring(0, separator));
+        String[] parts = value.split(":");
+        if (parts.length >= 3 && CosmeticCategory.SUIT.prefix().equals(parts[0])) {
+            this.setId = Optional.of(parts[0] + ":" + parts[1]);
+            this.suitSlot = SuitSlot.fromStorageSuffix(parts[2]);
+        } else {
+            this.setId = Optional.empty();
+            this.suitSlot = Optional.empty();
+        }
+    }
+
+    public static CosmeticKey of(String raw) {
+        Objects.requireNonNull(raw, "raw");
+        CosmeticKey key = CANONICAL.get(raw);
+        if (key != null) {
+            return key;
+        }
+        key = ALIASES.get(raw);
+        if (key != null) {
+            return key;
+        }
+        String normalized = normalize(raw);
+        key = CANONICAL.get(normalized);
+        if (key == null) {
+            return new CosmeticKey(normalized);
+        }
+        if (!normalized.equals(raw) && ALIASES.size() < MAX_ALIASES) {
+            ALIASES.putIfAbsent(raw, key);
+        }
+        return key;
+    }
+
+    /**
+     * Interns {@code raw} as a known key and returns the canonical instance. A suit set id also interns its
+     * piece keys. Only call this for registered cosmetics; the table is never pruned.
+     */
+    public static CosmeticKey intern(String raw) {
+        Objects.requireNonNull(raw, "raw");
+        CosmeticKey key = CANONICAL.computeIfAbsent(normalize(raw), CosmeticKey::new);
+        if (key.category.orElse(null) == CosmeticCategory.SUIT && key.suitSlot.isEmpty()) {
+            for (SuitSlot slot : SuitSlot.values()) {
+                key.pieceKeys[slot.ordinal()] = CANONICAL.computeIfAbsent(
+                        key.value + ":" + slot.storageSuffix(), CosmeticKey::new);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * The trimmed, lower-case spelling stored in loadouts and used as the registry id.
+     */
+    public String value() {
+        return value;
+    }
+
+    public Optional<CosmeticCategory> category() {
+        return category;
+    }
+
+    /**
+     * Owning set id when this is a suit piece key.
+     */
+    public Optional<String> setId() {
+        return setId;
+    }
+
+    public Optional<SuitSlot> suitSlot() {
+        return suitSlot;
+    }
+
+    public boolean isSuitPiece() {
+        return suitSlot.isPresent();
+    }
+
+    /**
+     * Piece key for {@code slot} of the suit set this key names.
+     */
+    public CosmeticKey pieceKey(SuitSlot slot) {
+        Objects.requireNonNull(slot, "slot");
+        CosmeticKey piece = pieceKeys[slot.ordinal()];
+        if (piece == null) {
+            // Racing writers store equal keys, so the lost write does not matter.
+            piece = of(value + ":" + slot.storageSuffix());
+            pieceKeys[slot.ordinal()] = piece;
+        }
+        return piece;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof CosmeticKey key && value.equals(key.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    private static String normalize(String raw) {
+        return raw.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
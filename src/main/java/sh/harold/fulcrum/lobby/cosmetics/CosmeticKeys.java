@@ -1,10 +1,9 @@
 package sh.harold.fulcrum.lobby.cosmetics;
 
-import java.util.Locale;
 import java.util.Optional;
 
 /**
- * Normalises cosmetic identifiers and flat keys.
+ * Normalises cosmetic identifiers and flat keys. String adapters over {@link CosmeticKey}.
  */
 public final class CosmeticKeys {
     private CosmeticKeys() {
@@ -14,28 +13,20 @@ public final class CosmeticKeys {
         if (id == null) {
             return Optional.empty();
         }
-        int idx = id.indexOf(':');
-        if (idx <= 0) {
-            return Optional.empty();
-        }
-        String prefix = id.substring(0, idx);
-        return CosmeticCategory.fromPrefix(prefix);
+        return CosmeticKey.of(id).category();
     }
 
     public static Optional<String> setIdFromPieceKey(String flatKey) {
         if (flatKey == null) {
             return Optional.empty();
         }
-        String[] parts = flatKey.split(":");
-        if (parts.length < 3) {
-            return Optional.empty();
-        }
-        if (!CosmeticCategory.SUIT.prefix().equalsIgnoreCase(parts[0])) {
-            return Optional.empty();
-        }
-        return Optional.of(parts[0].toLowerCase(Locale.ROOT) + ":" + parts[1].toLowerCase(Locale.ROOT));
+        return CosmeticKey.of(flatKey).setId();
     }
 
+    /**
+     * Reads the slot from the third segment of any flat key, whatever its category. {@link CosmeticKey#suitSlot()}
+     * only parses suit keys.
+     */
     public static Optional<SuitSlot> suitSlotFromPieceKey(String flatKey) {
         if (flatKey == null) {
             return Optional.empty();
@@ -51,13 +42,13 @@ public final class CosmeticKeys {
         if (setId == null || slot == null) {
             throw new IllegalArgumentException("setId and slot must be provided");
         }
-        return normalizeId(setId) + ":" + slot.storageSuffix();
+        return CosmeticKey.of(setId).pieceKey(slot).value();
     }
 
     public static String normalizeId(String raw) {
         if (raw == null) {
             return null;
         }
-        return raw.trim().toLowerCase(Locale.ROOT);
+        return CosmeticKey.of(raw).value();
     }
 }
@@ -0,0 +1,8 @@
+package sh.harold.fulcrum.lobby.cosmetics;
+
+/**
+ * Per-wearer data for a {@link Stateless} cosmetic. The runtime creates one per wearer when the loadout is
+ * applied and passes it back alongside the {@link sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext}.
+ */
+public interface CosmeticState {
+}
@@ -1,7 +1,9 @@
 package sh.harold.fulcrum.lobby.cosmetics;
 
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleInstruction;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.WearerGroup;
 
 import java.util.Collections;
 import java.util.List;
@@ -27,10 +29,44 @@ public abstract non-sealed class ParticleTrailCosmetic implements Cosmetic {
         return CosmeticCategory.TRAIL;
     }
 
+    /**
+     * Per-wearer state for {@link Stateless} trails; {@code null} when the trail needs none.
+     */
+    public CosmeticState createState() {
+        return null;
+    }
+
     /**
      * Runs asynchronously and returns the particle instructions that should be flushed on the next tick.
      */
     public List<ParticleInstruction> tick(PlayerContext ctx) {
         return Collections.emptyList();
     }
+
+    /**
+     * Writes this tick's particles into {@code batch}. The default adapts {@link #tick(PlayerContext)};
+     * override this instead to emit without allocating instruction lists.
+     */
+    public void emit(ParticleBatch batch, PlayerContext ctx) {
+        batch.addAll(tick(ctx));
+    }
+
+    /**
+     * Emits for one wearer together with the state from {@link #createState()}.
+     */
+    public void emit(ParticleBatch batch, PlayerContext ctx, CosmeticState state) {
+        emit(batch, ctx);
+    }
+
+    /**
+     * Emits for every wearer of a shared instance in one call. Each wearer's particles must follow a
+     * {@link ParticleBatch#begin(PlayerContext)} for that wearer, as the default does.
+     */
+    public void emitAll(ParticleBatch batch, WearerGroup wearers) {
+        for (int i = 0; i < wearers.size(); i++) {
+            PlayerContext ctx = wearers.context(i);
+            batch.begin(ctx);
+            emit(batch, ctx, wearers.state(i));
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package sh.harold.fulcrum.lobby.cosmetics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a cosmetic whose instance keeps no per-wearer fields, letting
+ * {@link sh.harold.fulcrum.lobby.cosmetics.registry.CosmeticRegistry} hand the same instance to every wearer.
+ * Anything that must differ between wearers belongs in the {@link CosmeticState} returned by
+ * {@code createState()}. Instances are ticked concurrently from the cosmetic workers, so shared caches must
+ * be thread-safe.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Stateless {
+}
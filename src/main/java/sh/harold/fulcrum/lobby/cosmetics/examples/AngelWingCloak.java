@@ -6,6 +6,7 @@ import org.bukkit.Particle;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticRarity;
+import sh.harold.fulcrum.lobby.cosmetics.Stateless;
 
 import java.util.Map;
 
@@ -19,8 +20,9 @@ import java.util.Map;
         icon = Material.FEATHER,
         rarity = CosmeticRarity.LEGENDARY,
         limited = "<aqua>Seasonal prototype reward")
+@Stateless
 public final class AngelWingCloak extends PatternCloakCosmetic {
-    private static final int[][] PATTERN = new int[][]{
+    static final int[][] PATTERN = new int[][]{
             {0, 1, 2, 2, 2, 1, 0},
             {1, 2, 2, 3, 2, 2, 1},
             {1, 2, 3, 3, 3, 2, 1},
@@ -30,7 +32,7 @@ public final class AngelWingCloak extends PatternCloakCosmetic {
             {0, 0, 0, 1, 0, 0, 0}
     };
 
-    private static final Map<Integer, Pixel> PALETTE = Map.ofEntries(
+    static final Map<Integer, Pixel> PALETTE = Map.ofEntries(
             Map.entry(1, Pixel.of(Particle.CLOUD)),
             Map.entry(2, Pixel.ofDust(Color.fromRGB(240, 248, 255), 1.0F)),
             Map.entry(3, Pixel.ofDust(Color.fromRGB(120, 200, 255), 1.2F))
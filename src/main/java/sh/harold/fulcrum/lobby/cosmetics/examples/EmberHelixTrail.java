@@ -6,11 +6,13 @@ import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticRarity;
 import sh.harold.fulcrum.lobby.cosmetics.ParticleTrailCosmetic;
+import sh.harold.fulcrum.lobby.cosmetics.Stateless;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleInstruction;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.Vector3d;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.WearerGroup;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,6 +25,7 @@ import java.util.List;
         icon = Material.BLAZE_POWDER,
         rarity = CosmeticRarity.EPIC
 )
+@Stateless
 public final class EmberHelixTrail extends ParticleTrailCosmetic {
 
     public EmberHelixTrail(CosmeticDescriptor descriptor) {
@@ -31,28 +34,53 @@ public final class EmberHelixTrail extends ParticleTrailCosmetic {
 
     @Override
     public List<ParticleInstruction> tick(PlayerContext ctx) {
-        double time = ctx.epochMillis() * 0.004D;
+        ParticleBatch batch = new ParticleBatch(2);
+        batch.begin(ctx);
+        emit(batch, ctx);
+        return batch.toInstructions();
+    }
+
+    @Override
+    public void emit(ParticleBatch batch, PlayerContext ctx) {
+        Vector3d origin = ctx.position();
+        emitAt(batch, origin.x(), origin.y(), origin.z(), ctx.epochMillis(), ctx.density());
+    }
+
+    @Override
+    public void emitAll(ParticleBatch batch, WearerGroup wearers) {
+        long epochMillis = wearers.epochMillis();
+        for (int i = 0; i < wearers.size(); i++) {
+            batch.begin(wearers.playerId(i), wearers.worldId(i));
+            emitAt(batch, wearers.x(i), wearers.y(i), wearers.z(i), epochMillis, wearers.density(i));
+        }
+    }
+
+    private static void emitAt(ParticleBatch batch, double originX, double baseY, double originZ,
+                               long epochMillis, double density) {
+        double time = epochMillis * 0.004D;
         double radius = 0.6D;
         double verticalOscillation = Math.sin(time) * 0.1D;
-        List<ParticleInstruction> instructions = new ArrayList<>(4);
-        Vector3d origin = ctx.position().add(new Vector3d(0.0D, 0.2D, 0.0D));
+        double originY = baseY + 0.2D;
+        int count = Math.max(1, (int) Math.round(2 * density));
 
         for (int i = 0; i < 2; i++) {
             double angle = time * 2.0D + (Math.PI * i);
             double x = Math.cos(angle) * radius;
             double z = Math.sin(angle) * radius;
-            Vector3d offset = new Vector3d(x, 0.2D + verticalOscillation * (i == 0 ? 1 : -1), z);
-            instructions.add(new ParticleInstruction(
+            double y = 0.2D + verticalOscillation * (i == 0 ? 1 : -1);
+            batch.add(
                     Particle.FLAME,
-                    ctx.worldId(),
-                    origin.add(offset),
-                    new Vector3d(0.0D, 0.02D, 0.0D),
-                    2,
+                    originX + x,
+                    originY + y,
+                    originZ + z,
+                    0.0D,
+                    0.02D,
+                    0.0D,
+                    count,
                     0.0D,
                     null,
                     false
-            ));
+            );
         }
-        return instructions;
     }
 }
@@ -4,27 +4,41 @@ import org.bukkit.Color;
 import org.bukkit.Particle;
 import sh.harold.fulcrum.lobby.cosmetics.CloakCosmetic;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticState;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleBatch;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.ParticleInstruction;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.PlayerContext;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.Vector3d;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.WearerGroup;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Base for cloaks that render an 8x8 pattern anchored to the player's back.
+ *
+ * <p>The pattern is baked into local-space offsets when the cloak is constructed. Rotated frames are
+ * built lazily for each quantised yaw bucket and flutter phase, so a tick only translates a cached
+ * frame to the player's position.</p>
  */
 public abstract class PatternCloakCosmetic extends CloakCosmetic {
-    private static final Vector3d UP = new Vector3d(0.0D, 1.0D, 0.0D);
+    private static final int YAW_BUCKETS = 64;
+    private static final int FLUTTER_PHASES = 16;
+    private static final double YAW_STEP_DEGREES = 360.0D / YAW_BUCKETS;
+    private static final double FLUTTER_RATE = 0.004D;
+    private static final double FLUTTER_AMPLITUDE = 0.05D;
+    private static final double TWO_PI = Math.PI * 2.0D;
 
-    private final int[][] pattern;
-    private final Map<Integer, Pixel> palette;
-    private final double horizontalSpacing;
-    private final double verticalSpacing;
+    private final int pixelCount;
+    private final double[] localRight;
+    private final double[] localUp;
+    private final Pixel[] pixels;
     private final double depthOffset;
     private final double anchorHeight;
+    private final AtomicReferenceArray<double[]> frames = new AtomicReferenceArray<>(YAW_BUCKETS * FLUTTER_PHASES);
 
     protected PatternCloakCosmetic(
             CosmeticDescriptor descriptor,
@@ -41,61 +55,155 @@ public abstract class PatternCloakCosmetic extends CloakCosmetic {
         if (pattern.length == 0 || pattern[0].length == 0) {
             throw new IllegalArgumentException("pattern must have at least one row and column");
         }
-        this.pattern = pattern;
-        this.palette = palette;
         int width = pattern[0].length;
         int height = pattern.length;
-        this.horizontalSpacing = width <= 1 ? 0.0D : widthBlocks / (width - 1);
-        this.verticalSpacing = height <= 1 ? 0.0D : heightBlocks / (height - 1);
+        double horizontalSpacing = width <= 1 ? 0.0D : widthBlocks / (width - 1);
+        double verticalSpacing = height <= 1 ? 0.0D : heightBlocks / (height - 1);
+        double halfWidth = (width - 1) / 2.0D;
+        double halfHeight = (height - 1) / 2.0D;
+        Pixel[] lookup = indexPalette(palette);
+
+        int cells = 0;
+        for (int[] row : pattern) {
+            cells += row.length;
+        }
+        double[] right = new double[cells];
+        double[] up = new double[cells];
+        Pixel[] baked = new Pixel[cells];
+        int count = 0;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < pattern[row].length; column++) {
+                int value = pattern[row][column];
+                Pixel pixel = value >= 0 && value < lookup.length ? lookup[value] : null;
+                if (pixel == null) {
+                    continue;
+                }
+                right[count] = (column - halfWidth) * horizontalSpacing;
+                up[count] = (halfHeight - row) * verticalSpacing;
+                baked[count] = pixel;
+                count++;
+            }
+        }
+        this.pixelCount = count;
+        this.localRight = Arrays.copyOf(right, count);
+        this.localUp = Arrays.copyOf(up, count);
+        this.pixels = Arrays.copyOf(baked, count);
         this.depthOffset = depthOffset;
         this.anchorHeight = anchorHeight;
     }
 
     @Override
     public List<ParticleInstruction> tick(PlayerContext ctx) {
-        int height = pattern.length;
-        int width = pattern[0].length;
-        double halfWidth = (width - 1) / 2.0D;
-        double halfHeight = (height - 1) / 2.0D;
-        List<ParticleInstruction> instructions = new ArrayList<>();
+        ParticleBatch batch = new ParticleBatch(Math.max(1, pixelCount));
+        batch.begin(ctx);
+        emit(batch, ctx);
+        return batch.toInstructions();
+    }
+
+    @Override
+    public void emit(ParticleBatch batch, PlayerContext ctx) {
+        Vector3d position = ctx.position();
+        emitAt(batch, position.x(), position.y(), position.z(), ctx.yaw(), flutterPhase(ctx.epochMillis()));
+    }
+
+    /**
+     * Reads wearers straight from the snapshot. Wearers with state still go through
+     * {@link #emit(ParticleBatch, PlayerContext, CosmeticState)} so stateful subclasses keep working.
+     */
+    @Override
+    public void emitAll(ParticleBatch batch, WearerGroup wearers) {
+        int flutterPhase = flutterPhase(wearers.epochMillis());
+        for (int i = 0; i < wearers.size(); i++) {
+            CosmeticState state = wearers.state(i);
+            if (state != null) {
+                PlayerContext ctx = wearers.context(i);
+                batch.begin(ctx);
+                emit(batch, ctx, state);
+                continue;
+            }
+            batch.begin(wearers.playerId(i), wearers.worldId(i));
+            emitAt(batch, wearers.x(i), wearers.y(i), wearers.z(i), wearers.yaw(i), flutterPhase);
+        }
+    }
 
-        double yawRadians = Math.toRadians(ctx.yaw());
-        Vector3d forward = new Vector3d(-Math.sin(yawRadians), 0.0D, Math.cos(yawRadians)).normalize();
-        Vector3d back = forward.multiply(-1.0D).normalize();
-        Vector3d right = new Vector3d(-back.z(), 0.0D, back.x()).normalize();
-        Vector3d anchor = ctx.position()
-                .add(back.multiply(depthOffset))
-                .add(new Vector3d(0.0D, anchorHeight, 0.0D));
+    private void emitAt(ParticleBatch batch, double originX, double originY, double originZ, float yaw,
+                        int flutterPhase) {
+        if (pixelCount == 0) {
+            return;
+        }
+        double[] frame = frame(yawBucket(yaw), flutterPhase);
+        for (int index = 0, offset = 0; index < pixelCount; index++, offset += 3) {
+            Pixel pixel = pixels[index];
+            batch.add(
+                    pixel.particle(),
+                    originX + frame[offset],
+                    originY + frame[offset + 1],
+                    originZ + frame[offset + 2],
+                    0.0D,
+                    0.0D,
+                    0.0D,
+                    pixel.count(),
+                    pixel.extra(),
+                    pixel.data(),
+                    pixel.force()
+            );
+        }
+    }
 
-        double time = ctx.epochMillis() * 0.004D;
-        double flutter = Math.sin(time) * 0.05D;
+    private double[] frame(int yawBucket, int flutterPhase) {
+        int slot = yawBucket * FLUTTER_PHASES + flutterPhase;
+        double[] frame = frames.get(slot);
+        if (frame == null) {
+            frame = bakeFrame(yawBucket, flutterPhase);
+            if (!frames.compareAndSet(slot, null, frame)) {
+                frame = frames.get(slot);
+            }
+        }
+        return frame;
+    }
 
-        for (int row = 0; row < height; row++) {
-            double verticalOffset = (halfHeight - row) * verticalSpacing;
-            for (int column = 0; column < width; column++) {
-                int value = pattern[row][column];
-                Pixel pixel = palette.get(value);
-                if (pixel == null) {
-                    continue;
-                }
-                double horizontalOffset = (column - halfWidth) * horizontalSpacing;
-                Vector3d offset = right.multiply(horizontalOffset)
-                        .add(UP.multiply(verticalOffset))
-                        .add(back.multiply(flutter));
-                Vector3d position = anchor.add(offset).add(pixel.offset());
-                instructions.add(new ParticleInstruction(
-                        pixel.particle(),
-                        ctx.worldId(),
-                        position,
-                        Vector3d.ZERO,
-                        pixel.count(),
-                        pixel.extra(),
-                        pixel.data(),
-                        pixel.force()
-                ));
+    private double[] bakeFrame(int yawBucket, int flutterPhase) {
+        double yawRadians = Math.toRadians(yawBucket * YAW_STEP_DEGREES);
+        double backX = Math.sin(yawRadians);
+        double backZ = -Math.cos(yawRadians);
+        double rightX = -backZ;
+        double rightZ = backX;
+        double flutter = Math.sin(flutterPhase * TWO_PI / FLUTTER_PHASES) * FLUTTER_AMPLITUDE;
+        double back = depthOffset + flutter;
+
+        double[] frame = new double[pixelCount * 3];
+        for (int index = 0, offset = 0; index < pixelCount; index++, offset += 3) {
+            Vector3d pixelOffset = pixels[index].offset();
+            frame[offset] = backX * back + rightX * localRight[index] + pixelOffset.x();
+            frame[offset + 1] = anchorHeight + localUp[index] + pixelOffset.y();
+            frame[offset + 2] = backZ * back + rightZ * localRight[index] + pixelOffset.z();
+        }
+        return frame;
+    }
+
+    private static int yawBucket(float yaw) {
+        return Math.floorMod((int) Math.round(yaw / YAW_STEP_DEGREES), YAW_BUCKETS);
+    }
+
+    private static int flutterPhase(long epochMillis) {
+        double cycle = (epochMillis * FLUTTER_RATE) % TWO_PI;
+        return Math.min(FLUTTER_PHASES - 1, (int) (cycle / TWO_PI * FLUTTER_PHASES));
+    }
+
+    private static Pixel[] indexPalette(Map<Integer, Pixel> palette) {
+        int max = -1;
+        for (Integer key : palette.keySet()) {
+            if (key != null && key > max) {
+                max = key;
             }
         }
-        return instructions;
+        Pixel[] lookup = new Pixel[max + 1];
+        palette.forEach((key, pixel) -> {
+            if (key != null && key >= 0) {
+                lookup[key] = pixel;
+            }
+        });
+        return lookup;
     }
 
     protected record Pixel(
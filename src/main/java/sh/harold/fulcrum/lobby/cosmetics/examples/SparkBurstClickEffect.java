@@ -11,6 +11,7 @@ import sh.harold.fulcrum.lobby.cosmetics.ClickEffectCosmetic;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticRarity;
+import sh.harold.fulcrum.lobby.cosmetics.Stateless;
 
 /**
  * Emits a celebratory spark burst whenever someone clicks the owner.
@@ -22,6 +23,7 @@ import sh.harold.fulcrum.lobby.cosmetics.CosmeticRarity;
         icon = Material.FIREWORK_ROCKET,
         rarity = CosmeticRarity.RARE
 )
+@Stateless
 public final class SparkBurstClickEffect extends ClickEffectCosmetic {
     private static final Component MESSAGE = Component.text("Spark burst!", NamedTextColor.GOLD);
 
@@ -0,0 +1,387 @@
+package sh.harold.fulcrum.lobby.cosmetics.loadout;
+
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticCategory;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticKey;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
+import sh.harold.fulcrum.lobby.cosmetics.SuitSlot;
+import sh.harold.fulcrum.lobby.cosmetics.registry.CosmeticRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes the {@code cosmetics} settings node as a versioned binary blob instead of lists of flat keys.
+ *
+ * <p>Each known flat key maps to a 32-bit FNV-1a hash of the key itself, so ids stay stable across builds
+ * no matter which cosmetics are registered or in what order. Unlocks are written as a sorted delta-varint
+ * list; keys outside the dictionary, and any hash two known keys share, fall back to a string table. The
+ * blob is Base64 text under {@value #DATA_KEY} so any settings backend can store it. Layout, version 2:</p>
+ *
+ * <pre>
+ * u8      version
+ * varint  id count,     then sorted ids as varint deltas
+ * varint  string count, then (varint length, UTF-8 bytes)*
+ * varint  equip count,  then (u8 slot code, u8 tag, varint id | string)*
+ * </pre>
+ *
+ * <p>The previous {@code unlocked}/{@code equipped} map is still read and flags the document for rewrite.</p>
+ *
+ * <p>Hashes are used instead of a persisted id table so a document needs nothing but the running build to
+ * decode. The trade-off: if a cosmetic is removed and a later one happens to hash to the same 32-bit id,
+ * documents still holding the old id decode to the new cosmetic. That takes a removal plus an exact
+ * collision, roughly {@code added / 2^32} per removed key (about 1 in 4 million for a thousand new keys),
+ * and at worst grants one cosmetic; collisions among keys registered together are already caught and
+ * stored as strings. Check {@link #keyId} for new keys against retired ones if the catalogue churns.</p>
+ */
+public final class CompactLoadoutCodec {
+    public static final int FORMAT_VERSION = 2;
+
+    static final String FORMAT_KEY = "format";
+    static final String DATA_KEY = "data";
+    static final String LEGACY_UNLOCKED_KEY = "unlocked";
+    static final String LEGACY_EQUIPPED_KEY = "equipped";
+
+    /**
+     * Wire codes for equipped slots; append only.
+     */
+    private static final CosmeticSlot[] SLOT_CODES = {
+            CosmeticSlot.SUIT_HELMET,
+            CosmeticSlot.SUIT_CHEST,
+            CosmeticSlot.SUIT_LEGGINGS,
+            CosmeticSlot.SUIT_BOOTS,
+            CosmeticSlot.TRAIL,
+            CosmeticSlot.CLOAK,
+            CosmeticSlot.CLICK
+    };
+    private static final int TAG_ID = 0;
+    private static final int TAG_STRING = 1;
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final Map<String, Long> idsByKey;
+    private final Map<Long, String> keysById;
+
+    private CompactLoadoutCodec(Map<String, Long> idsByKey, Map<Long, String> keysById) {
+        this.idsByKey = idsByKey;
+        this.keysById = keysById;
+    }
+
+    /**
+     * Dictionary of every registered id plus the piece keys of each suit set.
+     */
+    public static CompactLoadoutCodec forRegistry(CosmeticRegistry registry) {
+        List<String> keys = new ArrayList<>();
+        for (CosmeticDescriptor descriptor : registry.descriptors()) {
+            CosmeticKey key = CosmeticKey.of(descriptor.id());
+            keys.add(key.value());
+            if (key.category().orElse(null) == CosmeticCategory.SUIT) {
+                for (SuitSlot slot : SuitSlot.values()) {
+                    keys.add(key.pieceKey(slot).value());
+                }
+            }
+        }
+        return forKeys(keys);
+    }
+
+    public static CompactLoadoutCodec forKeys(Collection<String> knownKeys) {
+        Map<String, Long> idsByKey = new HashMap<>();
+        Map<Long, String> keysById = new HashMap<>();
+        Set<Long> collisions = new HashSet<>();
+        for (String key : knownKeys) {
+            if (key == null || key.isBlank() || idsByKey.containsKey(key)) {
+                continue;
+            }
+            long id = keyId(key);
+            String existing = keysById.putIfAbsent(id, key);
+            if (existing != null) {
+                collisions.add(id);
+            }
+            idsByKey.put(key, id);
+        }
+        for (Long id : collisions) {
+            keysById.remove(id);
+        }
+        idsByKey.values().removeIf(collisions::contains);
+        return new CompactLoadoutCodec(Map.copyOf(idsByKey), Map.copyOf(keysById));
+    }
+
+    /**
+     * Stable unsigned 32-bit id of {@code key}.
+     */
+    static long keyId(String key) {
+        int hash = FNV_OFFSET;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return Integer.toUnsignedLong(hash);
+    }
+
+    public int dictionarySize() {
+        return idsByKey.size();
+    }
+
+    /**
+     * Reads either encoding; legacy documents come back with {@link LoadoutDocument#legacyFormat} set.
+     *
+     * @throws IllegalArgumentException when the blob is corrupt or written by a newer format version
+     */
+    LoadoutDocument decode(Map<?, ?> raw) {
+        if (raw == null || raw.isEmpty()) {
+            return new LoadoutDocument();
+        }
+        if (!raw.containsKey(FORMAT_KEY)) {
+            return decodeLegacy(raw);
+        }
+        Object format = raw.get(FORMAT_KEY);
+        if (!(format instanceof Number number) || number.intValue() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported cosmetics document format " + format);
+        }
+        if (!(raw.get(DATA_KEY) instanceof String data)) {
+            throw new IllegalArgumentException("Cosmetics document is missing its data blob");
+        }
+        return decodeBytes(Base64.getDecoder().decode(data));
+    }
+
+    Map<String, Object> encode(LoadoutDocument document) {
+        Map<String, Object> raw = new HashMap<>(4);
+        raw.put(FORMAT_KEY, FORMAT_VERSION);
+        raw.put(DATA_KEY, Base64.getEncoder().encodeToString(encodeBytes(document)));
+        return raw;
+    }
+
+    byte[] encodeBytes(LoadoutDocument document) {
+        long[] ids = new long[document.unlocked.size() + document.retainedUnlocked.size()];
+        int idCount = 0;
+        List<String> strings = new ArrayList<>();
+        for (String key : document.unlocked) {
+            Long id = idsByKey.get(key);
+            if (id == null) {
+                strings.add(key);
+            } else {
+                ids[idCount++] = id;
+            }
+        }
+        for (Long retained : document.retainedUnlocked) {
+            ids[idCount++] = retained;
+        }
+        Arrays.sort(ids, 0, idCount);
+
+        ByteWriter out = new ByteWriter(16 + idCount * 5 + strings.size() * 24);
+        out.writeByte(FORMAT_VERSION);
+        out.writeVarint(idCount);
+        long previous = 0L;
+        for (int i = 0; i < idCount; i++) {
+            out.writeVarint(ids[i] - previous);
+            previous = ids[i];
+        }
+        out.writeVarint(strings.size());
+        for (String key : strings) {
+            out.writeString(key);
+        }
+        out.writeVarint(document.equipped.size() + document.retainedEquipped.size());
+        for (int code = 0; code < SLOT_CODES.length; code++) {
+            CosmeticSlot slot = SLOT_CODES[code];
+            String key = document.equipped.get(slot);
+            Long id = key != null ? idsByKey.get(key) : document.retainedEquipped.get(slot);
+            if (key == null && id == null) {
+                continue;
+            }
+            out.writeByte(code);
+            if (id != null) {
+                out.writeByte(TAG_ID);
+                out.writeVarint(id);
+            } else {
+                out.writeByte(TAG_STRING);
+                out.writeString(key);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    LoadoutDocument decodeBytes(byte[] bytes) {
+        ByteReader in = new ByteReader(bytes);
+        int version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported cosmetics blob version " + version);
+        }
+        LoadoutDocument document = new LoadoutDocument();
+        int idCount = in.readCount();
+        long id = 0L;
+        for (int i = 0; i < idCount; i++) {
+            id += in.readVarint();
+            String key = keysById.get(id);
+            if (key == null) {
+                document.retainedUnlocked.add(id);
+            } else {
+                document.unlocked.add(key);
+            }
+        }
+        int stringCount = in.readCount();
+        for (int i = 0; i < stringCount; i++) {
+            document.unlocked.add(in.readString());
+        }
+        int equipCount = in.readCount();
+        for (int i = 0; i < equipCount; i++) {
+            int code = in.readByte();
+            if (code >= SLOT_CODES.length) {
+                throw new IllegalArgumentException("Unknown equipped slot code " + code);
+            }
+            CosmeticSlot slot = SLOT_CODES[code];
+            if (in.readByte() == TAG_ID) {
+                long equippedId = in.readVarint();
+                String key = keysById.get(equippedId);
+                if (key == null) {
+                    document.retainedEquipped.put(slot, equippedId);
+                } else {
+                    document.equipped.put(slot, key);
+                }
+            } else {
+                document.equipped.put(slot, in.readString());
+            }
+        }
+        return document;
+    }
+
+    /**
+     * The map layout used before format 2; kept for migration and as the benchmark baseline.
+     */
+    static Map<String, Object> encodeLegacy(LoadoutDocument document) {
+        Map<String, Object> raw = new HashMap<>();
+        if (!document.unlocked.isEmpty()) {
+            raw.put(LEGACY_UNLOCKED_KEY, new ArrayList<>(document.unlocked));
+        }
+        if (!document.equipped.isEmpty()) {
+            Map<String, Object> equippedRaw = new HashMap<>();
+            document.equipped.forEach((slot, value) -> equippedRaw.put(slot.storageKey(), value));
+            raw.put(LEGACY_EQUIPPED_KEY, equippedRaw);
+        }
+        return raw;
+    }
+
+    static LoadoutDocument decodeLegacy(Map<?, ?> raw) {
+        LoadoutDocument document = new LoadoutDocument();
+        document.legacyFormat = true;
+        Object unlockedValue = raw.get(LEGACY_UNLOCKED_KEY);
+        if (unlockedValue instanceof List<?> unlockedList) {
+            for (Object entry : unlockedList) {
+                if (entry instanceof String key && !key.isBlank()) {
+                    document.unlocked.add(key);
+                }
+            }
+        }
+        Object equippedValue = raw.get(LEGACY_EQUIPPED_KEY);
+        if (equippedValue instanceof Map<?, ?> equippedMap) {
+            for (Map.Entry<?, ?> entry : equippedMap.entrySet()) {
+                if (!(entry.getKey() instanceof String storageKey)) {
+                    continue;
+                }
+                CosmeticSlot.fromStorageKey(storageKey).ifPresent(slot -> {
+                    Object flatKey = entry.getValue();
+                    if (flatKey instanceof String cosmeticKey && !cosmeticKey.isBlank()) {
+                        document.equipped.put(slot, cosmeticKey);
+                    }
+                });
+            }
+        }
+        return document;
+    }
+
+    private static final class ByteWriter {
+        private byte[] buffer;
+        private int size;
+
+        private ByteWriter(int capacity) {
+            buffer = new byte[Math.max(16, capacity)];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0L) {
+                buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[size++] = (byte) remaining;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class ByteReader {
+        private final byte[] buffer;
+        private int position;
+
+        private ByteReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated cosmetics blob");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in cosmetics blob");
+        }
+
+        /**
+         * Reads a count and rejects values that could not fit in the remaining bytes.
+         */
+        int readCount() {
+            long count = readVarint();
+            if (count < 0L || count > buffer.length - position) {
+                throw new IllegalArgumentException("Implausible count " + count + " in cosmetics blob");
+            }
+            return (int) count;
+        }
+
+        String readString() {
+            int length = readCount();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package sh.harold.fulcrum.lobby.cosmetics.loadout;
+
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable working copy of one player's {@code cosmetics} settings node.
+ *
+ * <p>Compact ids that no longer map to a known cosmetic are carried in the {@code retained} collections
+ * so a write never silently drops unlocks for cosmetics that are temporarily missing from the build.</p>
+ */
+final class LoadoutDocument {
+    final Set<String> unlocked = new HashSet<>();
+    final Map<CosmeticSlot, String> equipped = new EnumMap<>(CosmeticSlot.class);
+    final Set<Long> retainedUnlocked = new HashSet<>();
+    final Map<CosmeticSlot, Long> retainedEquipped = new EnumMap<>(CosmeticSlot.class);
+    boolean legacyFormat;
+
+    CosmeticLoadout toLoadout() {
+        return CosmeticLoadout.copyOf(unlocked, equipped);
+    }
+
+    /**
+     * @return whether the document changed
+     */
+    boolean apply(LoadoutMutation mutation) {
+        return switch (mutation) {
+            case LoadoutMutation.Unlock unlock -> unlocked.add(unlock.cosmeticKey());
+            case LoadoutMutation.Lock lock -> {
+                if (!unlocked.remove(lock.cosmeticKey())) {
+                    yield false;
+                }
+                cleanupEquipped();
+                yield true;
+            }
+            case LoadoutMutation.Equip equip -> {
+                boolean dropped = retainedEquipped.remove(equip.slot()) != null;
+                if (equip.cosmeticKey() == null || equip.cosmeticKey().isBlank()) {
+                    yield equipped.remove(equip.slot()) != null || dropped;
+                }
+                yield !equip.cosmeticKey().equals(equipped.put(equip.slot(), equip.cosmeticKey())) || dropped;
+            }
+            case LoadoutMutation.Clear clear -> {
+                boolean dropped = retainedEquipped.remove(clear.slot()) != null;
+                yield equipped.remove(clear.slot()) != null || dropped;
+            }
+        };
+    }
+
+    /**
+     * @return whether anything was removed
+     */
+    boolean clear() {
+        boolean changed = !isEmpty();
+        unlocked.clear();
+        equipped.clear();
+        retainedUnlocked.clear();
+        retainedEquipped.clear();
+        return changed;
+    }
+
+    void cleanupEquipped() {
+        equipped.entrySet().removeIf(entry -> !unlocked.contains(entry.getValue()));
+    }
+
+    boolean isEmpty() {
+        return unlocked.isEmpty() && equipped.isEmpty() && retainedUnlocked.isEmpty() && retainedEquipped.isEmpty();
+    }
+}
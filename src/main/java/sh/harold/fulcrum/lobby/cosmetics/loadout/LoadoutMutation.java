@@ -0,0 +1,60 @@
+package sh.harold.fulcrum.lobby.cosmetics.loadout;
+
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
+
+import java.util.Objects;
+
+/**
+ * One change in a {@link LoadoutService#apply} batch. Mutations run in list order against the same document.
+ */
+public sealed interface LoadoutMutation {
+
+    static LoadoutMutation unlock(String cosmeticKey) {
+        return new Unlock(cosmeticKey);
+    }
+
+    static LoadoutMutation lock(String cosmeticKey) {
+        return new Lock(cosmeticKey);
+    }
+
+    static LoadoutMutation equip(CosmeticSlot slot, String cosmeticKey) {
+        return new Equip(slot, cosmeticKey);
+    }
+
+    static LoadoutMutation clear(CosmeticSlot slot) {
+        return new Clear(slot);
+    }
+
+    /**
+     * Adds {@code cosmeticKey} to the unlocked ledger.
+     */
+    record Unlock(String cosmeticKey) implements LoadoutMutation {
+        public Unlock {
+            Objects.requireNonNull(cosmeticKey, "cosmeticKey");
+        }
+    }
+
+    /**
+     * Removes {@code cosmeticKey} from the ledger and unequips it wherever it is equipped.
+     */
+    record Lock(String cosmeticKey) implements LoadoutMutation {
+        public Lock {
+            Objects.requireNonNull(cosmeticKey, "cosmeticKey");
+        }
+    }
+
+    /**
+     * Equips {@code cosmeticKey} in {@code slot}; a blank key clears the slot.
+     */
+    record Equip(CosmeticSlot slot, String cosmeticKey) implements LoadoutMutation {
+        public Equip {
+            Objects.requireNonNull(slot, "slot");
+        }
+    }
+
+    record Clear(CosmeticSlot slot) implements LoadoutMutation {
+        public Clear {
+            Objects.requireNonNull(slot, "slot");
+        }
+    }
+}
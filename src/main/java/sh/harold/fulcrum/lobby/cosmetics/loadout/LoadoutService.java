@@ -2,7 +2,9 @@ package sh.harold.fulcrum.lobby.cosmetics.loadout;
 
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -20,4 +22,30 @@ public interface LoadoutService {
     CompletionStage<Void> clearEquipped(UUID playerId, CosmeticSlot slot);
 
     CompletionStage<Void> clearAll(UUID playerId);
+
+    /**
+     * Applies every mutation in order against one loaded document and persists the result once, without
+     * interleaving with other writers.
+     *
+     * @return the loadout after all mutations
+     */
+    CompletionStage<CosmeticLoadout> apply(UUID playerId, List<LoadoutMutation> mutations);
+
+    default LoadoutStats stats() {
+        return LoadoutStats.EMPTY;
+    }
+
+    /**
+     * Persists anything buffered for {@code playerId} and drops cached state; called when the player leaves.
+     */
+    default CompletionStage<Void> release(UUID playerId) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Persists every buffered change and stops background work.
+     */
+    default CompletionStage<Void> close() {
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -0,0 +1,11 @@
+package sh.harold.fulcrum.lobby.cosmetics.loadout;
+
+/**
+ * Loadout persistence accounting since startup.
+ *
+ * <p>{@code calls} counts {@link LoadoutService} operations and {@code mutations} the individual changes
+ * they carried; {@code documentReads} and {@code documentWrites} are round trips to the backing store.</p>
+ */
+public record LoadoutStats(long calls, long mutations, long documentReads, long documentWrites) {
+    public static final LoadoutStats EMPTY = new LoadoutStats(0L, 0L, 0L, 0L);
+}
@@ -3,162 +3,332 @@ package sh.harold.fulcrum.lobby.cosmetics.loadout;
 import sh.harold.fulcrum.common.settings.PlayerSettingsService;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Stores cosmetics inside {@link PlayerSettingsService} using the {@code lobby} scope.
+ *
+ * <p>Each player's document is loaded once and then served from memory. Mutations apply to the cached copy
+ * under the entry's lock and bump its version; a single write of the latest document follows after
+ * {@code flushDelay}, so chained calls such as equipping a whole suit cost one round trip. Writes for a
+ * player are chained so an older document can never land after a newer one, and {@link #release(UUID)}
+ * flushes before the entry is dropped. A failed write is retried up to {@code MAX_FLUSH_ATTEMPTS} times;
+ * release always drops the entry, even when its last write failed, so a rejoin reads the stored copy.</p>
+ *
+ * <p>Documents are stored through {@link CompactLoadoutCodec}. A document still in the old map layout is
+ * rewritten in the compact format shortly after it is first read.</p>
  */
 public final class PlayerSettingsLoadoutService implements LoadoutService {
+    public static final Duration DEFAULT_FLUSH_DELAY = Duration.ofMillis(250L);
+
     private static final String COSMETICS_NODE = "cosmetics";
-    private static final String UNLOCKED_KEY = "unlocked";
-    private static final String EQUIPPED_KEY = "equipped";
+    private static final AtomicInteger FLUSHER_IDS = new AtomicInteger();
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+    private static final long RETRY_DELAY_MILLIS = 1_000L;
 
     private final PlayerSettingsService.GameSettingsScope scope;
+    private final CompactLoadoutCodec codec;
+    private final long flushDelayMillis;
+    private final Logger logger;
+    private final Map<UUID, CachedDocument> cache = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder documentReads = new LongAdder();
+    private final LongAdder documentWrites = new LongAdder();
 
     public PlayerSettingsLoadoutService(PlayerSettingsService.GameSettingsScope scope) {
+        this(scope, DEFAULT_FLUSH_DELAY, null);
+    }
+
+    public PlayerSettingsLoadoutService(PlayerSettingsService.GameSettingsScope scope, Duration flushDelay,
+                                        Logger logger) {
+        this(scope, CompactLoadoutCodec.forKeys(List.of()), flushDelay, logger);
+    }
+
+    public PlayerSettingsLoadoutService(PlayerSettingsService.GameSettingsScope scope, CompactLoadoutCodec codec,
+                                        Duration flushDelay, Logger logger) {
         this.scope = Objects.requireNonNull(scope, "scope");
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.flushDelayMillis = Math.max(0L, Objects.requireNonNull(flushDelay, "flushDelay").toMillis());
+        this.logger = logger;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lobby-loadout-flush-" + FLUSHER_IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
     public CompletionStage<CosmeticLoadout> loadout(UUID playerId) {
-        return loadDocument(playerId).thenApply(Document::toLoadout);
+        calls.increment();
+        return read(playerId, LoadoutDocument::toLoadout);
     }
 
     @Override
     public CompletionStage<Boolean> addUnlocked(UUID playerId, String cosmeticKey) {
-        Objects.requireNonNull(cosmeticKey, "cosmeticKey");
-        return loadDocument(playerId).thenCompose(document -> {
-            if (!document.unlocked.add(cosmeticKey)) {
-                return CompletableFuture.completedFuture(Boolean.FALSE);
-            }
-            return persist(playerId, document).thenApply(v -> Boolean.TRUE);
-        });
+        LoadoutMutation mutation = LoadoutMutation.unlock(cosmeticKey);
+        return mutate(playerId, 1, document -> document.apply(mutation));
     }
 
     @Override
     public CompletionStage<Boolean> removeUnlocked(UUID playerId, String cosmeticKey) {
-        Objects.requireNonNull(cosmeticKey, "cosmeticKey");
-        return loadDocument(playerId).thenCompose(document -> {
-            if (!document.unlocked.remove(cosmeticKey)) {
-                return CompletableFuture.completedFuture(Boolean.FALSE);
-            }
-            document.cleanupEquipped();
-            return persist(playerId, document).thenApply(v -> Boolean.TRUE);
-        });
+        LoadoutMutation mutation = LoadoutMutation.lock(cosmeticKey);
+        return mutate(playerId, 1, document -> document.apply(mutation));
     }
 
     @Override
     public CompletionStage<Void> setEquipped(UUID playerId, CosmeticSlot slot, String cosmeticKey) {
-        Objects.requireNonNull(slot, "slot");
-        return loadDocument(playerId).thenCompose(document -> {
-            if (cosmeticKey == null || cosmeticKey.isBlank()) {
-                document.equipped.remove(slot);
-            } else {
-                document.equipped.put(slot, cosmeticKey);
-            }
-            return persist(playerId, document);
-        });
+        LoadoutMutation mutation = LoadoutMutation.equip(slot, cosmeticKey);
+        return mutate(playerId, 1, document -> document.apply(mutation)).thenApply(ignored -> null);
     }
 
     @Override
     public CompletionStage<Void> clearEquipped(UUID playerId, CosmeticSlot slot) {
-        Objects.requireNonNull(slot, "slot");
-        return loadDocument(playerId).thenCompose(document -> {
-            document.equipped.remove(slot);
-            return persist(playerId, document);
-        });
+        LoadoutMutation mutation = LoadoutMutation.clear(slot);
+        return mutate(playerId, 1, document -> document.apply(mutation)).thenApply(ignored -> null);
     }
 
     @Override
     public CompletionStage<Void> clearAll(UUID playerId) {
-        return scope.remove(playerId, COSMETICS_NODE);
+        return mutate(playerId, 1, LoadoutDocument::clear).thenApply(ignored -> null);
     }
 
-    private CompletionStage<Document> loadDocument(UUID playerId) {
-        return scope.get(playerId, COSMETICS_NODE, Map.class)
-                .thenApply(optional -> optional.map(PlayerSettingsLoadoutService::asDocument)
-                        .orElseGet(Document::new));
+    @Override
+    public CompletionStage<CosmeticLoadout> apply(UUID playerId, List<LoadoutMutation> mutations) {
+        List<LoadoutMutation> batch = List.copyOf(Objects.requireNonNull(mutations, "mutations"));
+        CosmeticLoadout[] after = new CosmeticLoadout[1];
+        return mutate(playerId, batch.size(), document -> {
+            boolean changed = false;
+            for (LoadoutMutation mutation : batch) {
+                changed |= document.apply(mutation);
+            }
+            after[0] = document.toLoadout();
+            return changed;
+        }).thenApply(ignored -> after[0]);
     }
 
-    private CompletionStage<Void> persist(UUID playerId, Document document) {
-        if (document.isEmpty()) {
-            return scope.remove(playerId, COSMETICS_NODE);
-        }
-        return scope.set(playerId, COSMETICS_NODE, document.toRaw());
+    @Override
+    public LoadoutStats stats() {
+        return new LoadoutStats(calls.sum(), mutations.sum(), documentReads.sum(), documentWrites.sum());
     }
 
-    @SuppressWarnings("unchecked")
-    private static Document asDocument(Map<String, Object> raw) {
-        Document document = new Document();
-        if (raw == null || raw.isEmpty()) {
-            return document;
+    @Override
+    public CompletionStage<Void> release(UUID playerId) {
+        CachedDocument entry = cache.get(playerId);
+        if (entry == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (entry) {
+            entry.releasing = true;
         }
-        Object unlockedValue = raw.get(UNLOCKED_KEY);
-        if (unlockedValue instanceof List<?> unlockedList) {
-            for (Object entry : unlockedList) {
-                if (entry instanceof String key && !key.isBlank()) {
-                    document.unlocked.add(key);
+        return flush(entry).handle((ignored, throwable) -> {
+            synchronized (entry) {
+                if (throwable != null) {
+                    if (logger != null) {
+                        logger.log(Level.WARNING, "Dropping unsaved cosmetics for " + playerId
+                                + " on release; the last write failed", throwable);
+                    }
+                    cancelPendingFlush(entry);
+                    entry.flushedVersion = entry.version;
+                    cache.remove(playerId, entry);
+                } else if (entry.version == entry.flushedVersion && entry.pendingFlush == null) {
+                    cache.remove(playerId, entry);
                 }
             }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> close() {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (CachedDocument entry : cache.values()) {
+            writes.add(flush(entry).toCompletableFuture());
         }
-        Object equippedValue = raw.get(EQUIPPED_KEY);
-        if (equippedValue instanceof Map<?, ?> equippedMap) {
-            for (Map.Entry<?, ?> entry : equippedMap.entrySet()) {
-                if (!(entry.getKey() instanceof String storageKey)) {
-                    continue;
-                }
-                CosmeticSlot.fromStorageKey(storageKey).ifPresent(slot -> {
-                    Object flatKey = entry.getValue();
-                    if (flatKey instanceof String cosmeticKey && !cosmeticKey.isBlank()) {
-                        document.equipped.put(slot, cosmeticKey);
-                    }
+        return CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, throwable) -> {
+                    flusher.shutdown();
+                    cache.clear();
                 });
+    }
+
+    private <T> CompletionStage<T> read(UUID playerId, Function<LoadoutDocument, T> reader) {
+        CachedDocument entry = entry(playerId);
+        return entry.loaded.thenApply(document -> {
+            synchronized (entry) {
+                return reader.apply(document);
             }
-        }
-        return document;
+        });
     }
 
-    private static final class Document {
-        private final Set<String> unlocked = new HashSet<>();
-        private final Map<CosmeticSlot, String> equipped = new EnumMap<>(CosmeticSlot.class);
+    /**
+     * Applies {@code mutation} to the cached document; a {@code true} result marks it dirty and schedules
+     * the write-behind flush. Completes once the change is visible to readers, not once it is persisted.
+     */
+    private CompletionStage<Boolean> mutate(UUID playerId, int mutationCount, Function<LoadoutDocument, Boolean> mutation) {
+        calls.increment();
+        mutations.add(mutationCount);
+        CachedDocument entry = entry(playerId);
+        return entry.loaded.thenApply(document -> {
+            synchronized (entry) {
+                boolean changed = mutation.apply(document);
+                if (changed) {
+                    entry.version++;
+                    scheduleFlush(entry, flushDelayMillis);
+                }
+                return changed;
+            }
+        });
+    }
 
-        private Document() {
+    private CachedDocument entry(UUID playerId) {
+        Objects.requireNonNull(playerId, "playerId");
+        CachedDocument existing = cache.get(playerId);
+        if (existing != null) {
+            return existing;
+        }
+        CachedDocument created = new CachedDocument(playerId);
+        CachedDocument raced = cache.putIfAbsent(playerId, created);
+        if (raced != null) {
+            return raced;
         }
+        documentReads.increment();
+        scope.get(playerId, COSMETICS_NODE, Map.class).whenComplete((optional, throwable) -> {
+            if (throwable != null) {
+                cache.remove(playerId, created);
+                created.loaded.completeExceptionally(throwable);
+                return;
+            }
+            LoadoutDocument document;
+            try {
+                document = optional.map(raw -> codec.decode((Map<?, ?>) raw)).orElseGet(LoadoutDocument::new);
+            } catch (RuntimeException exception) {
+                // Never fall back to an empty document here: the first mutation would overwrite stored data.
+                cache.remove(playerId, created);
+                created.loaded.completeExceptionally(exception);
+                return;
+            }
+            created.loaded.complete(document);
+            if (document.legacyFormat && !document.isEmpty()) {
+                synchronized (created) {
+                    created.version++;
+                    scheduleFlush(created, flushDelayMillis);
+                }
+            }
+        });
+        return created;
+    }
 
-        CosmeticLoadout toLoadout() {
-            return CosmeticLoadout.copyOf(unlocked, equipped);
+    private void scheduleFlush(CachedDocument entry, long delayMillis) {
+        if (entry.pendingFlush != null || cache.get(entry.playerId) != entry) {
+            return;
+        }
+        try {
+            entry.pendingFlush = flusher.schedule(() -> {
+                flush(entry);
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // Closing; close() already queued the final write.
         }
+    }
 
-        Map<String, Object> toRaw() {
-            Map<String, Object> raw = new HashMap<>();
-            if (!unlocked.isEmpty()) {
-                raw.put(UNLOCKED_KEY, new ArrayList<>(unlocked));
-            }
-            if (!equipped.isEmpty()) {
-                Map<String, Object> equippedRaw = new HashMap<>();
-                equipped.forEach((slot, value) -> equippedRaw.put(slot.storageKey(), value));
-                raw.put(EQUIPPED_KEY, equippedRaw);
+    /**
+     * Queues a write of the current document behind any write already in flight for this player.
+     */
+    private CompletionStage<Void> flush(CachedDocument entry) {
+        synchronized (entry) {
+            cancelPendingFlush(entry);
+            LoadoutDocument document = entry.loaded.getNow(null);
+            if (document == null || entry.version == entry.flushedVersion) {
+                return entry.writes;
             }
-            return raw;
+            long target = entry.version;
+            Map<String, Object> raw = document.isEmpty() ? null : codec.encode(document);
+            CompletableFuture<Void> write = entry.writes
+                    .thenCompose(ignored -> persist(entry.playerId, raw).toCompletableFuture())
+                    .whenComplete((ignored, throwable) -> {
+                        synchronized (entry) {
+                            if (throwable == null) {
+                                entry.flushedVersion = Math.max(entry.flushedVersion, target);
+                                entry.failedAttempts = 0;
+                                return;
+                            }
+                            if (entry.releasing) {
+                                // release() logs and evicts; retrying a departed player's write is pointless.
+                                return;
+                            }
+                            entry.failedAttempts++;
+                            if (entry.failedAttempts >= MAX_FLUSH_ATTEMPTS) {
+                                if (logger != null) {
+                                    logger.log(Level.WARNING, "Giving up on persisting cosmetics for "
+                                            + entry.playerId + " after " + entry.failedAttempts + " attempts",
+                                            throwable);
+                                }
+                                entry.failedAttempts = 0;
+                                entry.flushedVersion = Math.max(entry.flushedVersion, target);
+                                return;
+                            }
+                            if (logger != null) {
+                                logger.log(Level.WARNING, "Unable to persist cosmetics for " + entry.playerId
+                                        + "; retrying", throwable);
+                            }
+                            scheduleFlush(entry, Math.max(flushDelayMillis, RETRY_DELAY_MILLIS));
+                        }
+                    });
+            entry.writes = write.exceptionally(ignored -> null);
+            return write;
         }
+    }
 
-        void cleanupEquipped() {
-            equipped.entrySet().removeIf(entry -> !unlocked.contains(entry.getValue()));
+    private static void cancelPendingFlush(CachedDocument entry) {
+        if (entry.pendingFlush != null) {
+            entry.pendingFlush.cancel(false);
+            entry.pendingFlush = null;
         }
+    }
+
+    private CompletionStage<Void> persist(UUID playerId, Map<String, Object> raw) {
+        documentWrites.increment();
+        if (raw == null) {
+            return scope.remove(playerId, COSMETICS_NODE);
+        }
+        return scope.set(playerId, COSMETICS_NODE, raw);
+    }
+
+    /**
+     * Cached document for one player. Every field except {@code loaded} is guarded by the entry's monitor.
+     */
+    private static final class CachedDocument {
+        private final UUID playerId;
+        private final CompletableFuture<LoadoutDocument> loaded = new CompletableFuture<>();
+        private long version;
+        private long flushedVersion;
+        private ScheduledFuture<?> pendingFlush;
+        private int failedAttempts;
+        private boolean releasing;
+        private CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
 
-        boolean isEmpty() {
-            return unlocked.isEmpty() && equipped.isEmpty();
+        private CachedDocument(UUID playerId) {
+            this.playerId = playerId;
         }
     }
 }
@@ -0,0 +1,59 @@
+package sh.harold.fulcrum.lobby.cosmetics.registry;
+
+import sh.harold.fulcrum.lobby.cosmetics.Cosmetic;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+
+/**
+ * Binds a cosmetic's {@code (CosmeticDescriptor)} constructor to a {@link Function} once, so the scanned
+ * fallback path instantiates through a plain interface call instead of {@code Constructor.newInstance}.
+ */
+final class CosmeticFactories {
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType ERASED_APPLY = MethodType.methodType(Object.class, Object.class);
+
+    private CosmeticFactories() {
+    }
+
+    /**
+     * Spins a {@link LambdaMetafactory} implementation equivalent to {@code Type::new}, falling back to a
+     * bound {@link MethodHandle} when the metafactory rejects the target.
+     *
+     * @throws NoSuchMethodException  when {@code type} has no {@code (CosmeticDescriptor)} constructor
+     * @throws IllegalAccessException when the constructor cannot be accessed from this module
+     */
+    @SuppressWarnings("unchecked")
+    static Function<CosmeticDescriptor, Cosmetic> forType(Class<? extends Cosmetic> type)
+            throws NoSuchMethodException, IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        MethodHandle constructor = lookup.findConstructor(type,
+                MethodType.methodType(void.class, CosmeticDescriptor.class));
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", FACTORY_TYPE, ERASED_APPLY,
+                    constructor, MethodType.methodType(type, CosmeticDescriptor.class));
+            return (Function<CosmeticDescriptor, Cosmetic>) site.getTarget().invoke();
+        } catch (Throwable ignored) {
+            return handleFactory(type, constructor);
+        }
+    }
+
+    private static Function<CosmeticDescriptor, Cosmetic> handleFactory(Class<? extends Cosmetic> type,
+                                                                        MethodHandle constructor) {
+        MethodHandle exact = constructor.asType(MethodType.methodType(Cosmetic.class, CosmeticDescriptor.class));
+        return descriptor -> {
+            try {
+                return (Cosmetic) exact.invokeExact(descriptor);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Construction failed for " + type.getName(), throwable);
+            }
+        };
+    }
+}
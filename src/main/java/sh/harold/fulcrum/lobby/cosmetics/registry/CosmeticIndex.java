@@ -0,0 +1,11 @@
+package sh.harold.fulcrum.lobby.cosmetics.registry;
+
+import java.util.List;
+
+/**
+ * Compile-time index of annotated cosmetics, generated by the {@code cosmetic-processor} module and
+ * discovered through {@link java.util.ServiceLoader}.
+ */
+public interface CosmeticIndex {
+    List<IndexedCosmetic> cosmetics();
+}
@@ -3,39 +3,60 @@ package sh.harold.fulcrum.lobby.cosmetics.registry;
 import org.bukkit.plugin.java.JavaPlugin;
 import sh.harold.fulcrum.lobby.cosmetics.Cosmetic;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
-import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticKey;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticKeys;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticMetadata;
+import sh.harold.fulcrum.lobby.cosmetics.Stateless;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
 import java.security.CodeSource;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Discovers cosmetics via {@link CosmeticMetadata} annotations by scanning the plugin jar.
+ * Registers cosmetics from the compile-time {@link CosmeticIndex} emitted by {@code cosmetic-processor}.
+ * Scanning the plugin jar for {@link CosmeticMetadata} classes remains available as an opt-in fallback for
+ * builds that ran without the processor.
+ *
+ * <p>Cosmetics marked {@link Stateless} are flyweights: every call to {@code instantiate} for their id returns
+ * the same instance.</p>
  */
 public final class CosmeticRegistry {
     private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Cosmetic> sharedInstances = new ConcurrentHashMap<>();
     private final Logger logger;
     private final ClassLoader classLoader;
 
     public CosmeticRegistry(JavaPlugin plugin, Logger logger) {
+        this(plugin, false, logger);
+    }
+
+    /**
+     * @param scanJar also scan the plugin jar for annotated classes missing from the generated index
+     */
+    public CosmeticRegistry(JavaPlugin plugin, boolean scanJar, Logger logger) {
         this.logger = logger;
         this.classLoader = plugin.getClass().getClassLoader();
-        scan(resolvePluginFile(plugin));
+        loadIndex();
+        if (scanJar) {
+            scan(resolvePluginFile(plugin));
+        } else if (entries.isEmpty() && logger != null) {
+            logger.warning("Cosmetic index is empty and jar scanning is disabled; no cosmetics registered.");
+        }
     }
 
     public Collection<CosmeticDescriptor> descriptors() {
@@ -60,20 +81,43 @@ public final class CosmeticRegistry {
     }
 
     public Optional<Cosmetic> instantiateFromFlatKey(String flatKey) {
-        String normalized = CosmeticKeys.normalizeId(flatKey);
-        Entry entry = entries.get(normalized);
+        CosmeticKey key = CosmeticKey.of(flatKey);
+        Entry entry = entries.get(key.value());
         if (entry != null) {
             return instantiate(entry);
         }
-        return CosmeticKeys.setIdFromPieceKey(normalized)
+        return key.setId()
                 .map(entries::get)
                 .flatMap(this::instantiate);
     }
 
+    /**
+     * Whether {@code id} resolves to a {@link Stateless} cosmetic shared between wearers.
+     */
+    public boolean isShared(String id) {
+        Entry entry = entries.get(CosmeticKeys.normalizeId(id));
+        return entry != null && entry.shared();
+    }
+
     private Optional<Cosmetic> instantiate(Entry entry) {
+        if (!entry.shared()) {
+            return create(entry);
+        }
+        String id = CosmeticKeys.normalizeId(entry.descriptor().id());
+        Cosmetic shared = sharedInstances.get(id);
+        if (shared != null) {
+            return Optional.of(shared);
+        }
+        return create(entry).map(created -> {
+            Cosmetic raced = sharedInstances.putIfAbsent(id, created);
+            return raced != null ? raced : created;
+        });
+    }
+
+    private Optional<Cosmetic> create(Entry entry) {
         try {
-            return Optional.of(entry.constructor().newInstance(entry.descriptor()));
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            return Optional.of(entry.factory().apply(entry.descriptor()));
+        } catch (RuntimeException ex) {
             if (logger != null) {
                 logger.log(Level.SEVERE, "Failed to instantiate cosmetic " + entry.descriptor().id(), ex);
             }
@@ -81,6 +125,27 @@ public final class CosmeticRegistry {
         }
     }
 
+    private void loadIndex() {
+        long started = System.nanoTime();
+        int indexes = 0;
+        try {
+            for (CosmeticIndex index : ServiceLoader.load(CosmeticIndex.class, classLoader)) {
+                indexes++;
+                for (IndexedCosmetic cosmetic : index.cosmetics()) {
+                    register(cosmetic.descriptor(), cosmetic.type(), cosmetic.factory());
+                }
+            }
+        } catch (ServiceConfigurationError error) {
+            if (logger != null) {
+                logger.log(Level.SEVERE, "Unable to load generated cosmetic index", error);
+            }
+        }
+        if (logger != null) {
+            logger.info("Cosmetic registry loaded " + entries.size() + " cosmetics from " + indexes
+                    + " generated index(es) in " + elapsedMillis(started) + "ms");
+        }
+    }
+
     private void scan(File pluginFile) {
         if (pluginFile == null || !pluginFile.isFile()) {
             if (logger != null) {
@@ -88,7 +153,9 @@ public final class CosmeticRegistry {
             }
             return;
         }
+        long started = System.nanoTime();
         long scanned = 0L;
+        int indexed = this.entries.size();
         long registered = 0L;
         try (JarFile jarFile = new JarFile(pluginFile)) {
             Enumeration<JarEntry> entries = jarFile.entries();
@@ -105,14 +172,15 @@ public final class CosmeticRegistry {
                 }
                 tryRegister(className);
             }
-            registered = this.entries.size();
+            registered = this.entries.size() - indexed;
         } catch (IOException exception) {
             if (logger != null) {
                 logger.log(Level.SEVERE, "Unable to scan plugin jar for cosmetics", exception);
             }
         }
         if (logger != null) {
-            logger.info("Cosmetic registry scanned " + scanned + " classes, registered " + registered + " cosmetics");
+            logger.info("Cosmetic registry scanned " + scanned + " classes, registered " + registered
+                    + " cosmetics missing from the index in " + elapsedMillis(started) + "ms");
         }
     }
 
@@ -135,7 +203,7 @@ public final class CosmeticRegistry {
         try {
             Class<?> resolved = Class.forName(className, false, classLoader);
             CosmeticMetadata metadata = resolved.getAnnotation(CosmeticMetadata.class);
-            if (metadata == null) {
+            if (metadata == null || isRegistered(resolved)) {
                 return;
             }
             if (!Cosmetic.class.isAssignableFrom(resolved)) {
@@ -146,7 +214,7 @@ public final class CosmeticRegistry {
             }
             @SuppressWarnings("unchecked")
             Class<? extends Cosmetic> cosmeticType = (Class<? extends Cosmetic>) resolved;
-            register(cosmeticType, metadata);
+            registerScanned(cosmeticType, metadata);
         } catch (ClassNotFoundException exception) {
             if (logger != null) {
                 logger.log(Level.WARNING, "Unable to resolve cosmetic class " + className, exception);
@@ -154,28 +222,54 @@ public final class CosmeticRegistry {
         }
     }
 
-    private void register(Class<? extends Cosmetic> type, CosmeticMetadata metadata) {
-        CosmeticDescriptor descriptor = CosmeticDescriptor.fromMetadata(metadata);
-        Constructor<? extends Cosmetic> constructor;
+    private void registerScanned(Class<? extends Cosmetic> type, CosmeticMetadata metadata) {
+        Function<CosmeticDescriptor, Cosmetic> factory;
         try {
-            constructor = type.getDeclaredConstructor(CosmeticDescriptor.class);
-            constructor.setAccessible(true);
+            factory = CosmeticFactories.forType(type);
         } catch (NoSuchMethodException exception) {
             if (logger != null) {
                 logger.warning(() -> "Cosmetic " + type.getName()
                         + " is missing a constructor accepting CosmeticDescriptor");
             }
             return;
+        } catch (IllegalAccessException exception) {
+            if (logger != null) {
+                logger.log(Level.WARNING, "Unable to access constructor of cosmetic " + type.getName(), exception);
+            }
+            return;
         }
+        register(CosmeticDescriptor.fromMetadata(metadata), type, factory);
+    }
 
-        String id = descriptor.id().toLowerCase(Locale.ROOT);
-        Entry existing = entries.putIfAbsent(id, new Entry(descriptor, constructor));
+    private void register(CosmeticDescriptor descriptor, Class<? extends Cosmetic> type,
+                          Function<CosmeticDescriptor, ? extends Cosmetic> factory) {
+        String id = CosmeticKey.intern(descriptor.id()).value();
+        Entry existing = entries.putIfAbsent(id, new Entry(descriptor, type, factory,
+                type.isAnnotationPresent(Stateless.class)));
         if (existing != null && logger != null) {
             logger.warning("Duplicate cosmetic id '" + id + "' between "
-                    + type.getName() + " and " + existing.constructor().getDeclaringClass().getName());
+                    + type.getName() + " and " + existing.type().getName());
+        }
+    }
+
+    private boolean isRegistered(Class<?> type) {
+        for (Entry entry : entries.values()) {
+            if (entry.type() == type) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
     }
 
-    private record Entry(CosmeticDescriptor descriptor, Constructor<? extends Cosmetic> constructor) {
+    private record Entry(
+            CosmeticDescriptor descriptor,
+            Class<? extends Cosmetic> type,
+            Function<CosmeticDescriptor, ? extends Cosmetic> factory,
+            boolean shared
+    ) {
     }
 }
@@ -0,0 +1,24 @@
+package sh.harold.fulcrum.lobby.cosmetics.registry;
+
+import sh.harold.fulcrum.lobby.cosmetics.Cosmetic;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * One entry of a {@link CosmeticIndex}: the descriptor baked from {@code @CosmeticMetadata} and a direct
+ * constructor reference, so registration needs neither class scanning nor reflection.
+ */
+public record IndexedCosmetic(
+        CosmeticDescriptor descriptor,
+        Class<? extends Cosmetic> type,
+        Function<CosmeticDescriptor, ? extends Cosmetic> factory
+) {
+
+    public IndexedCosmetic {
+        Objects.requireNonNull(descriptor, "descriptor");
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(factory, "factory");
+    }
+}
@@ -0,0 +1,52 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Level-of-detail tiers a player's trail and cloak can run at.
+ */
+public enum CosmeticLod {
+    FULL(1, 1.0D),
+    HALF(2, 0.5D),
+    QUARTER(4, 0.25D),
+    SUSPENDED(0, 0.0D);
+
+    private final int tickInterval;
+    private final double density;
+
+    CosmeticLod(int tickInterval, double density) {
+        this.tickInterval = tickInterval;
+        this.density = density;
+    }
+
+    /**
+     * Heartbeats between emissions; {@code 0} means the tier never emits.
+     */
+    public int tickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * Particle density hint passed to cosmetics through {@link PlayerContext#density()}.
+     */
+    public double density() {
+        return density;
+    }
+
+    public boolean shouldTick(long tick) {
+        return shouldTick(tick, 0, 1);
+    }
+
+    /**
+     * Whether a wearer in {@code phase} of {@code groups} phase groups emits on this heartbeat.
+     */
+    public boolean shouldTick(long tick, int phase, int groups) {
+        return tickInterval > 0 && (tick + phase) % ((long) tickInterval * groups) == 0L;
+    }
+
+    CosmeticLod coarser() {
+        return switch (this) {
+            case FULL -> HALF;
+            case HALF -> QUARTER;
+            case QUARTER, SUSPENDED -> this;
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Tick profile for one cosmetic id. Percentiles are power-of-two upper bounds over the recent window.
+ *
+ * @param id          cosmetic id
+ * @param invocations ticks run since startup
+ * @param totalNanos  nanoseconds spent ticking since startup
+ * @param particles   particle entries emitted since startup
+ * @param exceptions  ticks that threw since startup
+ * @param p50Nanos    recent median tick time
+ * @param p99Nanos    recent 99th percentile tick time
+ */
+public record CosmeticProfile(
+        String id,
+        long invocations,
+        long totalNanos,
+        long particles,
+        long exceptions,
+        long p50Nanos,
+        long p99Nanos
+) {
+    public long averageNanos() {
+        return invocations == 0L ? 0L : totalNanos / invocations;
+    }
+}
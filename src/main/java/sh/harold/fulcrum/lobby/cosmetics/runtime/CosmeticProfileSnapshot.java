@@ -0,0 +1,31 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Point-in-time view of the cosmetic profiler.
+ *
+ * @param cosmetics       per-id profiles, most expensive first
+ * @param framesFlushed   frames dispatched on the main thread since startup
+ * @param lastFlushNanos  main-thread time spent dispatching the most recent frame
+ * @param flushP50Nanos   recent median flush time
+ * @param flushP99Nanos   recent 99th percentile flush time
+ */
+public record CosmeticProfileSnapshot(
+        List<CosmeticProfile> cosmetics,
+        long framesFlushed,
+        long lastFlushNanos,
+        long flushP50Nanos,
+        long flushP99Nanos
+) {
+    public CosmeticProfileSnapshot {
+        cosmetics = cosmetics == null
+                ? List.of()
+                : cosmetics.stream().sorted(Comparator.comparingLong(CosmeticProfile::totalNanos).reversed()).toList();
+    }
+
+    public List<CosmeticProfile> top(int limit) {
+        return cosmetics.subList(0, Math.max(0, Math.min(limit, cosmetics.size())));
+    }
+}
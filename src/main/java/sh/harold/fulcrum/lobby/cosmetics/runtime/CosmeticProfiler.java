@@ -0,0 +1,93 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-cosmetic tick cost from the workers and flush cost from the main thread.
+ */
+final class CosmeticProfiler {
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final LatencyHistogram flushHistogram = new LatencyHistogram();
+    private final LongAdder framesFlushed = new LongAdder();
+    private volatile long lastFlushNanos;
+
+    void recordTick(String id, long nanos, int particles) {
+        Counters entry = counters(id);
+        entry.invocations.increment();
+        entry.totalNanos.add(nanos);
+        entry.particles.add(particles);
+        entry.histogram.record(nanos);
+    }
+
+    /**
+     * Records one batched call covering {@code wearers} ticks; the histogram sees the per-wearer average.
+     */
+    void recordTicks(String id, int wearers, long nanos, int particles) {
+        Counters entry = counters(id);
+        entry.invocations.add(wearers);
+        entry.totalNanos.add(nanos);
+        entry.particles.add(particles);
+        entry.histogram.record(nanos / Math.max(1, wearers));
+    }
+
+    void recordFailure(String id, long nanos) {
+        Counters entry = counters(id);
+        entry.invocations.increment();
+        entry.totalNanos.add(nanos);
+        entry.exceptions.increment();
+        entry.histogram.record(nanos);
+    }
+
+    void recordFlush(long nanos) {
+        framesFlushed.increment();
+        lastFlushNanos = nanos;
+        flushHistogram.record(nanos);
+    }
+
+    /**
+     * Halves every histogram so percentiles favour the most recent window.
+     */
+    void decay() {
+        for (Counters entry : counters.values()) {
+            entry.histogram.decay();
+        }
+        flushHistogram.decay();
+    }
+
+    CosmeticProfileSnapshot snapshot() {
+        List<CosmeticProfile> profiles = new ArrayList<>(counters.size());
+        counters.forEach((id, entry) -> profiles.add(new CosmeticProfile(
+                id,
+                entry.invocations.sum(),
+                entry.totalNanos.sum(),
+                entry.particles.sum(),
+                entry.exceptions.sum(),
+                entry.histogram.percentile(0.5D),
+                entry.histogram.percentile(0.99D)
+        )));
+        return new CosmeticProfileSnapshot(
+                profiles,
+                framesFlushed.sum(),
+                lastFlushNanos,
+                flushHistogram.percentile(0.5D),
+                flushHistogram.percentile(0.99D)
+        );
+    }
+
+    private Counters counters(String id) {
+        Counters entry = counters.get(id);
+        return entry != null ? entry : counters.computeIfAbsent(id, ignored -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder particles = new LongAdder();
+        private final LongAdder exceptions = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+    }
+}
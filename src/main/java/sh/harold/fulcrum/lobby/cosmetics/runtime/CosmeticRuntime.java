@@ -1,14 +1,14 @@
 package sh.harold.fulcrum.lobby.cosmetics.runtime;
 
-import com.destroystokyo.paper.ParticleBuilder;
 import org.bukkit.Bukkit;
-import org.bukkit.World;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
@@ -22,20 +22,24 @@ import org.bukkit.scheduler.BukkitTask;
 import sh.harold.fulcrum.lobby.cosmetics.CloakCosmetic;
 import sh.harold.fulcrum.lobby.cosmetics.ClickEffectCosmetic;
 import sh.harold.fulcrum.lobby.cosmetics.Cosmetic;
-import sh.harold.fulcrum.lobby.cosmetics.CosmeticKeys;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticKey;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticState;
 import sh.harold.fulcrum.lobby.cosmetics.ParticleTrailCosmetic;
 import sh.harold.fulcrum.lobby.cosmetics.SuitSet;
 import sh.harold.fulcrum.lobby.cosmetics.SuitSlot;
 import sh.harold.fulcrum.lobby.cosmetics.loadout.CosmeticLoadout;
 import sh.harold.fulcrum.lobby.cosmetics.loadout.LoadoutService;
 import sh.harold.fulcrum.lobby.cosmetics.registry.CosmeticRegistry;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.CosmeticTickExecutor.TickRequest;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,10 +47,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -58,22 +63,63 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
     private static final long HEARTBEAT_PERIOD_TICKS = 1L;
     private static final double MOVEMENT_EPSILON = 0.0025D;
     private static final long IDLE_DWELL_MILLIS = 1_500L;
+    private static final long LOD_EVALUATION_INTERVAL_TICKS = 20L;
+    private static final long PROFILE_DECAY_INTERVAL_TICKS = 600L;
+    private static final long PREFETCH_SWEEP_INTERVAL_TICKS = 100L;
 
     private final JavaPlugin plugin;
     private final CosmeticRegistry registry;
     private final LoadoutService loadoutService;
+    private final CosmeticRuntimeSettings settings;
     private final Logger logger;
     private final Map<UUID, ActivePlayerState> activePlayers = new ConcurrentHashMap<>();
-    private final ExecutorService executor;
+    private final ForkJoinPool executor;
+    private final ParticleDispatcher dispatcher;
+    private final ParticleBatchPool batchPool;
+    private final SnapshotArena snapshots;
+    private final CosmeticTickExecutor tickExecutor;
+    private final CosmeticProfiler profiler = new CosmeticProfiler();
+    private final Location scratch = new Location(null, 0.0D, 0.0D, 0.0D);
+    private final FramePipeline pipeline;
+    private final LodController lodController;
+    private final PhaseGroups trailPhases;
+    private final PhaseGroups cloakPhases;
+    private final LoadoutPrefetcher prefetcher;
+    private final SuitPieceCache pieceCache = new SuitPieceCache();
+    private final Set<UUID> pendingRefresh = new LinkedHashSet<>();
+    private boolean refreshScheduled;
+    private long refreshesRequested;
+    private long refreshesPerformed;
+    private long refreshesCoalesced;
+    private final RunningVariance staggeredLoad = new RunningVariance();
+    private final RunningVariance unstaggeredLoad = new RunningVariance();
     private BukkitTask heartbeatTask;
-
-    public CosmeticRuntime(JavaPlugin plugin, CosmeticRegistry registry, LoadoutService loadoutService, Logger logger) {
+    private long heartbeatTicks;
+    /**
+     * Heartbeats that began a frame. Phase groups are scheduled on this rather than {@code heartbeatTicks},
+     * so a heartbeat dropped by a saturated pipeline delays the next group instead of skipping it.
+     */
+    private long frameTicks;
+
+    public CosmeticRuntime(JavaPlugin plugin, CosmeticRegistry registry, LoadoutService loadoutService,
+                           CosmeticRuntimeSettings settings, Logger logger) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.registry = Objects.requireNonNull(registry, "registry");
         this.loadoutService = Objects.requireNonNull(loadoutService, "loadoutService");
+        this.settings = settings == null ? CosmeticRuntimeSettings.defaults() : settings;
         this.logger = logger;
+        this.dispatcher = new ParticleDispatcher(plugin.getServer(), this.settings.viewDistanceSquared());
         int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
-        this.executor = Executors.newFixedThreadPool(poolSize, new CosmeticThreadFactory());
+        this.executor = new ForkJoinPool(poolSize, new CosmeticThreadFactory(), null, false);
+        this.batchPool = new ParticleBatchPool(this.settings.maxFramesInFlight() + poolSize + 1);
+        this.pipeline = new FramePipeline(executor, batchPool, this.settings.maxFramesInFlight());
+        this.snapshots = new SnapshotArena(this.settings.maxFramesInFlight() + 1);
+        this.tickExecutor = new CosmeticTickExecutor(executor, batchPool, this.settings.parallelThreshold(),
+                profiler, logger);
+        this.lodController = new LodController(plugin.getServer(), this.settings);
+        this.trailPhases = new PhaseGroups(this.settings.trailPhaseGroups());
+        this.cloakPhases = new PhaseGroups(this.settings.cloakPhaseGroups());
+        this.prefetcher = new LoadoutPrefetcher(loadoutService, this.settings.prefetchTtlMillis());
     }
 
     public void start() {
@@ -94,11 +140,82 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
             heartbeatTask = null;
         }
         executor.shutdownNow();
+        pipeline.clear();
+        prefetcher.clear();
+        pieceCache.clear();
+        pendingRefresh.clear();
         for (UUID uuid : new ArrayList<>(activePlayers.keySet())) {
             teardown(uuid);
         }
     }
 
+    /**
+     * Packets sent versus culled by the viewer-aware dispatch stage.
+     */
+    public DispatchStats dispatchStats() {
+        return dispatcher.stats();
+    }
+
+    /**
+     * Frame counters for the async tick pipeline: dropped and failed frames, queue depth and latency.
+     */
+    public PipelineStats pipelineStats() {
+        return pipeline.stats();
+    }
+
+    /**
+     * Per-cosmetic tick cost and per-frame flush cost, most expensive cosmetic first.
+     */
+    public CosmeticProfileSnapshot profile() {
+        return profiler.snapshot();
+    }
+
+    /**
+     * Number of active players currently assigned to each level-of-detail tier.
+     */
+    public Map<CosmeticLod, Integer> lodCounts() {
+        Map<CosmeticLod, Integer> counts = new EnumMap<>(CosmeticLod.class);
+        for (ActivePlayerState state : activePlayers.values()) {
+            counts.merge(state.lod, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Variance of per-heartbeat tick counts with phase staggering versus all wearers aligned.
+     */
+    public PhaseStats phaseStats() {
+        return new PhaseStats(
+                staggeredLoad.count(),
+                staggeredLoad.mean(),
+                staggeredLoad.variance(),
+                unstaggeredLoad.mean(),
+                unstaggeredLoad.variance()
+        );
+    }
+
+    /**
+     * Pre-login loadout prefetch outcomes and latency.
+     */
+    public PrefetchStats prefetchStats() {
+        return prefetcher.stats();
+    }
+
+    /**
+     * Armour refresh requests versus refreshes run once triggers for the same player are coalesced.
+     */
+    public RefreshStats refreshStats() {
+        return new RefreshStats(refreshesRequested, refreshesPerformed, refreshesCoalesced);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        prefetcher.prefetch(event.getUniqueId());
+    }
+
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(PlayerJoinEvent event) {
         handleJoin(event.getPlayer());
@@ -121,7 +238,13 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
-        teardown(event.getPlayer().getUniqueId());
+        UUID playerId = event.getPlayer().getUniqueId();
+        teardown(playerId);
+        loadoutService.release(playerId).whenComplete((ignored, throwable) -> {
+            if (throwable != null && logger != null) {
+                logger.log(Level.WARNING, "Unable to flush cosmetics for " + event.getPlayer().getName(), throwable);
+            }
+        });
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -147,7 +270,19 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
     }
 
     private void handleJoin(Player player) {
-        requestLoadout(player);
+        CompletableFuture<CosmeticLoadout> prefetched = prefetcher.claim(player.getUniqueId());
+        if (prefetched == null) {
+            requestLoadout(player);
+            return;
+        }
+        if (prefetched.isDone() && !prefetched.isCompletedExceptionally()) {
+            CosmeticLoadout loadout = prefetched.getNow(null);
+            applyLoadout(player, loadout == null ? CosmeticLoadout.EMPTY : loadout);
+            return;
+        }
+        // The prefetch can still fail after the claim; fall back to a fresh fetch rather than throwing here.
+        UUID playerId = player.getUniqueId();
+        awaitLoadout(player, prefetched.exceptionallyCompose(throwable -> loadoutService.loadout(playerId)));
     }
 
     public void reloadPlayer(UUID playerId) {
@@ -159,8 +294,11 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
     }
 
     private void requestLoadout(Player player) {
-        UUID playerId = player.getUniqueId();
-        loadoutService.loadout(playerId).whenComplete((loadout, throwable) -> {
+        awaitLoadout(player, loadoutService.loadout(player.getUniqueId()));
+    }
+
+    private void awaitLoadout(Player player, CompletionStage<CosmeticLoadout> pending) {
+        pending.whenComplete((loadout, throwable) -> {
             if (throwable != null) {
                 if (logger != null) {
                     logger.log(Level.SEVERE, "Unable to load cosmetics for " + player.getName(), throwable);
@@ -180,14 +318,38 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         });
     }
 
+    /**
+     * Marks {@code player} dirty; every trigger raised before the next tick folds into one refresh.
+     */
     private void refresh(Player player) {
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            ActivePlayerState state = activePlayers.get(player.getUniqueId());
-            if (state == null) {
-                return;
+        refreshesRequested++;
+        if (!pendingRefresh.add(player.getUniqueId())) {
+            refreshesCoalesced++;
+            return;
+        }
+        if (!refreshScheduled) {
+            refreshScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flushRefreshes);
+        }
+    }
+
+    private void flushRefreshes() {
+        refreshScheduled = false;
+        if (pendingRefresh.isEmpty()) {
+            return;
+        }
+        List<UUID> dirty = new ArrayList<>(pendingRefresh);
+        pendingRefresh.clear();
+        for (UUID playerId : dirty) {
+            ActivePlayerState state = activePlayers.get(playerId);
+            Player player = state == null ? null : plugin.getServer().getPlayer(playerId);
+            if (player == null) {
+                continue;
             }
+            refreshesPerformed++;
             applySuitPieces(player, state);
-        });
+            syncFullSets(player, state);
+        }
     }
 
     private void handleClick(Player owner, Player clicker) {
@@ -202,97 +364,128 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
     }
 
     private void heartbeat() {
-        if (activePlayers.isEmpty()) {
-            return;
+        pipeline.drain(this::flushInstructions);
+        long tick = ++heartbeatTicks;
+        if (tick % PROFILE_DECAY_INTERVAL_TICKS == 0L) {
+            profiler.decay();
+            prefetcher.decay();
         }
-        long now = System.currentTimeMillis();
-        List<TickRequest> requests = new ArrayList<>();
-        for (ActivePlayerState state : activePlayers.values()) {
-            Player player = plugin.getServer().getPlayer(state.playerId);
-            if (player == null || !player.isOnline()) {
-                continue;
-            }
-            PlayerContext context = PlayerContext.fromPlayer(player, state.lastPosition);
-            state.lastPosition = context.position();
-            handleSuitStates(state, context);
-            handleTrailTick(state, context, requests);
-            handleCloakTick(player, state, context, now, requests);
+        if (tick % PREFETCH_SWEEP_INTERVAL_TICKS == 0L) {
+            prefetcher.sweep();
         }
-        if (requests.isEmpty()) {
+        if (activePlayers.isEmpty()) {
             return;
         }
-        CompletableFuture
-                .supplyAsync(() -> runTicks(requests), executor)
-                .thenAccept(instructions -> Bukkit.getScheduler()
-                        .runTask(plugin, () -> flushInstructions(instructions)))
-                .exceptionally(throwable -> {
-                    if (logger != null) {
-                        logger.log(Level.SEVERE, "Cosmetic tick failure", throwable);
-                    }
-                    return null;
-                });
-    }
-
-    private void handleSuitStates(ActivePlayerState state, PlayerContext context) {
-        if (state.suitPieces.isEmpty()) {
+        long frame = pipeline.tryBegin();
+        if (frame < 0L) {
+            trackPositions();
             return;
         }
-        Map<String, Integer> counters = new HashMap<>();
-        for (Map.Entry<SuitSlot, String> entry : state.suitPieces.entrySet()) {
-            String flatKey = entry.getValue();
-            CosmeticKeys.setIdFromPieceKey(flatKey).ifPresent(setId -> {
-                counters.merge(setId, 1, Integer::sum);
-            });
-        }
-        Set<String> currentlyFull = new HashSet<>();
-        for (Map.Entry<String, Integer> entry : counters.entrySet()) {
-            if (entry.getValue() == SuitSlot.values().length) {
-                currentlyFull.add(entry.getKey());
+        SnapshotArena.Frame snapshot = null;
+        try {
+            long phaseTick = ++frameTicks;
+            long now = System.currentTimeMillis();
+            snapshot = snapshots.acquire(now);
+            CosmeticLod baseline = tick % LOD_EVALUATION_INTERVAL_TICKS == 0L ? lodController.baseline() : null;
+            List<TickRequest> requests = new ArrayList<>();
+            int unstaggered = 0;
+            for (ActivePlayerState state : activePlayers.values()) {
+                Player player = plugin.getServer().getPlayer(state.playerId);
+                if (player == null || !player.isOnline()) {
+                    continue;
+                }
+                if (baseline != null && (state.trail != null || state.cloak != null)) {
+                    state.lod = lodController.evaluate(player, baseline);
+                }
+                int slot = snapshot.capture(player, scratch, state.hasLastPosition,
+                        state.lastX, state.lastY, state.lastZ, state.lod.density());
+                state.lastX = snapshot.x(slot);
+                state.lastY = snapshot.y(slot);
+                state.lastZ = snapshot.z(slot);
+                state.hasLastPosition = true;
+                if (state.trail != null) {
+                    boolean emit = state.lod.shouldTick(phaseTick, trailPhases.phaseOf(state.playerId),
+                            trailPhases.groups());
+                    handleTrailTick(state, slot, emit, requests);
+                    if (state.lod.shouldTick(phaseTick, 0, trailPhases.groups())) {
+                        unstaggered++;
+                    }
+                }
+                if (state.cloak != null) {
+                    boolean emit = state.lod.shouldTick(phaseTick, cloakPhases.phaseOf(state.playerId),
+                            cloakPhases.groups());
+                    handleCloakTick(player, state, snapshot, slot, now, emit, requests);
+                    if (state.cloakActive && state.lod.shouldTick(phaseTick, 0, cloakPhases.groups())) {
+                        unstaggered++;
+                    }
+                }
             }
-        }
-        for (String setId : currentlyFull) {
-            if (state.activeFullSets.add(setId)) {
-                SuitSet suit = state.suitSets.get(setId);
-                if (suit != null) {
-                    safeInvoke(() -> suit.onFullSetStart(context));
+            staggeredLoad.add(requests.size());
+            unstaggeredLoad.add(unstaggered);
+            if (requests.isEmpty()) {
+                snapshots.release(snapshot);
+                pipeline.abandon(frame);
+                return;
+            }
+            SnapshotArena.Frame captured = snapshot;
+            pipeline.submit(frame, () -> runTicks(captured, requests), throwable -> {
+                if (logger != null) {
+                    logger.log(Level.SEVERE, "Cosmetic tick failure", throwable);
                 }
+            });
+        } catch (RuntimeException exception) {
+            // Later frames flush only once this sequence settles, so a frame that fails to build is abandoned.
+            snapshots.release(snapshot);
+            pipeline.abandon(frame);
+            if (logger != null) {
+                logger.log(Level.SEVERE, "Failed to build cosmetic frame", exception);
             }
         }
-        for (String active : new HashSet<>(state.activeFullSets)) {
-            if (!currentlyFull.contains(active)) {
-                SuitSet suit = state.suitSets.get(active);
-                if (suit != null) {
-                    safeInvoke(() -> suit.onFullSetEnd(context));
-                }
-                state.activeFullSets.remove(active);
+    }
+
+    /**
+     * Records positions on a heartbeat whose frame was dropped, so the next frame's velocity still spans a
+     * single heartbeat instead of every heartbeat since the last frame.
+     */
+    private void trackPositions() {
+        for (ActivePlayerState state : activePlayers.values()) {
+            Player player = plugin.getServer().getPlayer(state.playerId);
+            if (player == null || !player.isOnline()) {
+                continue;
             }
+            Location location = player.getLocation(scratch);
+            state.lastX = location.getX();
+            state.lastY = location.getY();
+            state.lastZ = location.getZ();
+            state.hasLastPosition = true;
         }
     }
 
-    private void handleTrailTick(ActivePlayerState state, PlayerContext context, List<TickRequest> requests) {
+    private void handleTrailTick(ActivePlayerState state, int slot, boolean emit, List<TickRequest> requests) {
         ParticleTrailCosmetic trail = state.trail;
-        if (trail == null) {
+        if (trail == null || !emit) {
             return;
         }
-        requests.add(new TickRequest(trail, context));
+        requests.add(new TickRequest(trail, state.trailState, slot));
     }
 
-    private void handleCloakTick(Player player, ActivePlayerState state, PlayerContext context, long now,
-                                 List<TickRequest> requests) {
+    private void handleCloakTick(Player player, ActivePlayerState state, SnapshotArena.Frame snapshot, int slot,
+                                 long now, boolean emit, List<TickRequest> requests) {
         CloakCosmetic cloak = state.cloak;
         if (cloak == null) {
             return;
         }
         boolean creativeFlying = player.isFlying();
         boolean gliding = player.isGliding();
-        boolean moving = context.velocity().lengthSquared() > MOVEMENT_EPSILON
+        boolean moving = snapshot.speedSquared(slot) > MOVEMENT_EPSILON
                 || gliding
-                || (!context.onGround() && !creativeFlying);
+                || (!snapshot.onGround(slot) && !creativeFlying);
         if (moving) {
             state.lastMovementAt = now;
             if (state.cloakActive) {
                 state.cloakActive = false;
-                safeInvoke(() -> cloak.onCancel(context));
+                PlayerContext context = snapshot.context(slot);
+                safeInvoke(() -> cloak.onCancel(context, state.cloakState));
             }
             return;
         }
@@ -300,52 +493,34 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
             long dwell = now - state.lastMovementAt;
             if (dwell >= IDLE_DWELL_MILLIS) {
                 state.cloakActive = true;
-                safeInvoke(() -> cloak.onIdleStart(context));
+                PlayerContext context = snapshot.context(slot);
+                safeInvoke(() -> cloak.onIdleStart(context, state.cloakState));
             } else {
                 return;
             }
         }
-        if (state.cloakActive) {
-            requests.add(new TickRequest(cloak, context));
+        if (state.cloakActive && emit) {
+            requests.add(new TickRequest(cloak, state.cloakState, slot));
         }
     }
 
-    private List<ParticleInstruction> runTicks(List<TickRequest> requests) {
-        List<ParticleInstruction> instructions = new ArrayList<>();
-        for (TickRequest request : requests) {
-            try {
-                instructions.addAll(request.execute());
-            } catch (Exception exception) {
-                if (logger != null) {
-                    logger.log(Level.WARNING, "Cosmetic tick failed for " + request.cosmetic().id(), exception);
-                }
-            }
+    private ParticleBatch runTicks(SnapshotArena.Frame snapshot, List<TickRequest> requests) {
+        try {
+            return tickExecutor.run(snapshot, requests);
+        } finally {
+            snapshots.release(snapshot);
         }
-        return instructions;
     }
 
-    private void flushInstructions(Collection<ParticleInstruction> instructions) {
-        if (instructions.isEmpty()) {
-            return;
-        }
-        for (ParticleInstruction instruction : instructions) {
-            World world = plugin.getServer().getWorld(instruction.worldId());
-            if (world == null) {
-                continue;
-            }
-            Vector3d position = instruction.position();
-            Vector3d offset = instruction.offset();
-            ParticleBuilder builder = new ParticleBuilder(instruction.particle())
-                    .count(instruction.count())
-                    .extra(instruction.extra())
-                    .force(instruction.force())
-                    .location(world, position.x(), position.y(), position.z())
-                    .offset(offset.x(), offset.y(), offset.z());
-            Object data = instruction.data();
-            if (data != null) {
-                builder.data(data);
+    private void flushInstructions(ParticleBatch batch) {
+        long started = System.nanoTime();
+        try {
+            if (!batch.isEmpty()) {
+                dispatcher.dispatch(batch);
             }
-            builder.spawn();
+        } finally {
+            batchPool.release(batch);
+            profiler.recordFlush(System.nanoTime() - started);
         }
     }
 
@@ -360,10 +535,70 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         state.trail = instantiate(validEquipped(loadout, CosmeticSlot.TRAIL), ParticleTrailCosmetic.class);
         state.cloak = instantiate(validEquipped(loadout, CosmeticSlot.CLOAK), CloakCosmetic.class);
         state.clickEffect = instantiate(validEquipped(loadout, CosmeticSlot.CLICK), ClickEffectCosmetic.class);
+        state.trailState = state.trail == null ? null : state.trail.createState();
+        state.cloakState = state.cloak == null ? null : state.cloak.createState();
         state.suitPieces.putAll(resolveSuitPieces(loadout));
-        state.suitSets.putAll(instantiateSuitSets(state.suitPieces.values()));
+        state.suitPieces.forEach((slot, flatKey) -> CosmeticKey.of(flatKey).setId()
+                .ifPresent(setId -> state.pieceSetIds.put(slot, setId)));
+        state.fullSets.addAll(resolveFullSets(state.pieceSetIds));
+        state.suitSets.putAll(instantiateSuitSets(state.pieceSetIds.values()));
         activePlayers.put(uuid, state);
+        assignPhases(state);
         applySuitPieces(player, state);
+        syncFullSets(player, state);
+    }
+
+    /**
+     * Sets whose id appears in every suit slot; suit composition only changes when a loadout is applied.
+     */
+    private Set<String> resolveFullSets(EnumMap<SuitSlot, String> pieceSetIds) {
+        if (pieceSetIds.size() != SuitSlot.values().length) {
+            return Set.of();
+        }
+        Set<String> distinct = new HashSet<>(pieceSetIds.values());
+        return distinct.size() == 1 ? distinct : Set.of();
+    }
+
+    /**
+     * Fires full-set start and end hooks for the difference between the loadout's full sets and the
+     * sets currently marked active.
+     */
+    private void syncFullSets(Player player, ActivePlayerState state) {
+        if (state.fullSets.equals(state.activeFullSets)) {
+            return;
+        }
+        PlayerContext context = currentContext(player, state);
+        for (String setId : state.fullSets) {
+            if (state.activeFullSets.add(setId)) {
+                SuitSet suit = state.suitSets.get(setId);
+                if (suit != null) {
+                    safeInvoke(() -> suit.onFullSetStart(context));
+                }
+            }
+        }
+        Iterator<String> iterator = state.activeFullSets.iterator();
+        while (iterator.hasNext()) {
+            String active = iterator.next();
+            if (state.fullSets.contains(active)) {
+                continue;
+            }
+            iterator.remove();
+            SuitSet suit = state.suitSets.get(active);
+            if (suit != null) {
+                safeInvoke(() -> suit.onFullSetEnd(context));
+            }
+        }
+    }
+
+    private void assignPhases(ActivePlayerState state) {
+        trailPhases.remove(state.playerId);
+        cloakPhases.remove(state.playerId);
+        if (state.trail != null) {
+            trailPhases.assign(state.playerId);
+        }
+        if (state.cloak != null) {
+            cloakPhases.assign(state.playerId);
+        }
     }
 
     private EnumMap<SuitSlot, String> resolveSuitPieces(CosmeticLoadout loadout) {
@@ -378,12 +613,10 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         return pieces;
     }
 
-    private Map<String, SuitSet> instantiateSuitSets(Collection<String> flatKeys) {
+    private Map<String, SuitSet> instantiateSuitSets(Collection<String> setIds) {
         Map<String, SuitSet> suits = new HashMap<>();
-        for (String flatKey : flatKeys) {
-            CosmeticKeys.setIdFromPieceKey(flatKey).ifPresent(setId -> {
-                suits.computeIfAbsent(setId, this::instantiateSuit);
-            });
+        for (String setId : setIds) {
+            suits.computeIfAbsent(setId, this::instantiateSuit);
         }
         suits.values().removeIf(Objects::isNull);
         return suits;
@@ -415,54 +648,49 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         return loadout.equipped(slot).filter(loadout::isUnlocked);
     }
 
+    /**
+     * Brings the armour slots in line with the loadout, writing only the slots whose contents differ so
+     * repeated refreshes on respawn, world change and teleport send no inventory updates.
+     */
     private void applySuitPieces(Player player, ActivePlayerState state) {
         PlayerInventory inventory = player.getInventory();
         for (SuitSlot slot : SuitSlot.values()) {
-            String flatKey = state.suitPieces.get(slot);
-            if (flatKey == null) {
+            String setId = state.pieceSetIds.get(slot);
+            SuitSet suit = setId == null ? null : state.suitSets.get(setId);
+            ItemStack item = suit == null ? null : pieceCache.piece(suit, slot);
+            if (item == null) {
                 restoreSlot(inventory, state, slot);
                 continue;
             }
-            SuitSet suit = CosmeticKeys.setIdFromPieceKey(flatKey)
-                    .map(state.suitSets::get)
-                    .orElse(null);
-            if (suit == null) {
-                restoreSlot(inventory, state, slot);
-                continue;
+            ItemStack current = getArmor(inventory, slot);
+            if (!state.originalArmor.containsKey(slot)) {
+                // Empty slots are recorded too, otherwise the next refresh would take the piece as original.
+                state.originalArmor.put(slot, current);
             }
-            ItemStack item = buildPiece(suit, slot);
-            if (item == null) {
-                restoreSlot(inventory, state, slot);
-                continue;
+            if (!item.equals(current)) {
+                setArmor(inventory, slot, item);
             }
-            state.originalArmor.computeIfAbsent(slot, s -> getArmor(inventory, slot));
-            setArmor(inventory, slot, item.clone());
         }
     }
 
-    private ItemStack buildPiece(SuitSet suit, SuitSlot slot) {
-        return switch (slot) {
-            case HELMET -> suit.helmet();
-            case CHEST -> suit.chestplate();
-            case LEGGINGS -> suit.leggings();
-            case BOOTS -> suit.boots();
-        };
-    }
-
     private void restoreSlot(PlayerInventory inventory, ActivePlayerState state, SuitSlot slot) {
         ItemStack original = state.originalArmor.remove(slot);
-        if (original != null || hasArmor(inventory, slot)) {
+        if (!Objects.equals(original, getArmor(inventory, slot))) {
             setArmor(inventory, slot, original);
         }
     }
 
+    /**
+     * Current armour in {@code slot}, with air reported as {@code null}.
+     */
     private ItemStack getArmor(PlayerInventory inventory, SuitSlot slot) {
-        return switch (slot) {
+        ItemStack stack = switch (slot) {
             case HELMET -> inventory.getHelmet();
             case CHEST -> inventory.getChestplate();
             case LEGGINGS -> inventory.getLeggings();
             case BOOTS -> inventory.getBoots();
         };
+        return stack == null || stack.getType().isAir() ? null : stack;
     }
 
     private void setArmor(PlayerInventory inventory, SuitSlot slot, ItemStack stack) {
@@ -474,13 +702,11 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         }
     }
 
-    private boolean hasArmor(PlayerInventory inventory, SuitSlot slot) {
-        return getArmor(inventory, slot) != null;
-    }
-
     private void teardown(UUID playerId) {
         Player player = plugin.getServer().getPlayer(playerId);
         ActivePlayerState state = activePlayers.remove(playerId);
+        trailPhases.remove(playerId);
+        cloakPhases.remove(playerId);
         if (state == null) {
             return;
         }
@@ -494,9 +720,9 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         for (SuitSlot slot : SuitSlot.values()) {
             restoreSlot(inventory, state, slot);
         }
-        PlayerContext context = PlayerContext.fromPlayer(player, state.lastPosition);
+        PlayerContext context = currentContext(player, state);
         if (state.cloakActive && state.cloak != null) {
-            safeInvoke(() -> state.cloak.onCancel(context));
+            safeInvoke(() -> state.cloak.onCancel(context, state.cloakState));
         }
         for (String active : state.activeFullSets) {
             SuitSet suit = state.suitSets.get(active);
@@ -507,6 +733,11 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         state.activeFullSets.clear();
     }
 
+    private PlayerContext currentContext(Player player, ActivePlayerState state) {
+        Vector3d previous = state.hasLastPosition ? new Vector3d(state.lastX, state.lastY, state.lastZ) : null;
+        return PlayerContext.fromPlayer(player, previous);
+    }
+
     private void safeInvoke(Runnable runnable) {
         try {
             runnable.run();
@@ -517,31 +748,27 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         }
     }
 
-    private record TickRequest(Cosmetic cosmetic, PlayerContext context) {
-        List<ParticleInstruction> execute() {
-            if (cosmetic instanceof ParticleTrailCosmetic trail) {
-                return trail.tick(context);
-            }
-            if (cosmetic instanceof CloakCosmetic cloak) {
-                return cloak.tick(context);
-            }
-            return List.of();
-        }
-    }
-
     private static final class ActivePlayerState {
         private final UUID playerId;
         private final CosmeticLoadout loadout;
         private final Map<String, SuitSet> suitSets = new HashMap<>();
         private final EnumMap<SuitSlot, String> suitPieces = new EnumMap<>(SuitSlot.class);
+        private final EnumMap<SuitSlot, String> pieceSetIds = new EnumMap<>(SuitSlot.class);
+        private final Set<String> fullSets = new HashSet<>();
         private final EnumMap<SuitSlot, ItemStack> originalArmor = new EnumMap<>(SuitSlot.class);
         private final Set<String> activeFullSets = new HashSet<>();
         private ParticleTrailCosmetic trail;
         private CloakCosmetic cloak;
+        private CosmeticState trailState;
+        private CosmeticState cloakState;
         private ClickEffectCosmetic clickEffect;
-        private Vector3d lastPosition;
+        private boolean hasLastPosition;
+        private double lastX;
+        private double lastY;
+        private double lastZ;
         private long lastMovementAt;
         private boolean cloakActive;
+        private CosmeticLod lod = CosmeticLod.FULL;
 
         private ActivePlayerState(UUID playerId, CosmeticLoadout loadout) {
             this.playerId = playerId;
@@ -549,12 +776,13 @@ public final class CosmeticRuntime implements Listener, AutoCloseable {
         }
     }
 
-    private static final class CosmeticThreadFactory implements ThreadFactory {
-        private int counter = 1;
+    private static final class CosmeticThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger(1);
 
         @Override
-        public synchronized Thread newThread(Runnable runnable) {
-            Thread thread = new Thread(runnable, "lobby-cosmetics-" + counter++);
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("lobby-cosmetics-" + counter.getAndIncrement());
             thread.setDaemon(true);
             return thread;
         }
@@ -0,0 +1,174 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Tunables for {@link CosmeticRuntime}, resolved from the {@code lobby.cosmetics} environment settings.
+ */
+public final class CosmeticRuntimeSettings {
+    public static final double DEFAULT_VIEW_DISTANCE = 48.0D;
+    public static final int DEFAULT_MAX_FRAMES_IN_FLIGHT = 2;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+    public static final double DEFAULT_LOD_TICK_BUDGET_MILLIS = 50.0D;
+    public static final int DEFAULT_LOD_CROWD_THRESHOLD = 40;
+    public static final int DEFAULT_TRAIL_PHASE_GROUPS = 1;
+    public static final int DEFAULT_CLOAK_PHASE_GROUPS = 2;
+    public static final long DEFAULT_PREFETCH_TTL_MILLIS = 30_000L;
+
+    private final double viewDistance;
+    private final int maxFramesInFlight;
+    private final int parallelThreshold;
+    private final double lodTickBudgetMillis;
+    private final int lodCrowdThreshold;
+    private final int trailPhaseGroups;
+    private final int cloakPhaseGroups;
+    private final long prefetchTtlMillis;
+
+    private CosmeticRuntimeSettings(Builder builder) {
+        this.viewDistance = builder.viewDistance;
+        this.maxFramesInFlight = builder.maxFramesInFlight;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.lodTickBudgetMillis = builder.lodTickBudgetMillis;
+        this.lodCrowdThreshold = builder.lodCrowdThreshold;
+        this.trailPhaseGroups = builder.trailPhaseGroups;
+        this.cloakPhaseGroups = builder.cloakPhaseGroups;
+        this.prefetchTtlMillis = builder.prefetchTtlMillis;
+    }
+
+    public static CosmeticRuntimeSettings defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Radius around each particle within which viewers receive it.
+     */
+    public double viewDistance() {
+        return viewDistance;
+    }
+
+    public double viewDistanceSquared() {
+        return viewDistance * viewDistance;
+    }
+
+    /**
+     * Upper bound on heartbeat frames that may be ticking or awaiting flush at once; further frames are dropped.
+     */
+    public int maxFramesInFlight() {
+        return maxFramesInFlight;
+    }
+
+    /**
+     * Tick requests per frame at which the frame is split across the worker pool instead of run on one thread.
+     */
+    public int parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Average tick time the LOD controller treats as the full budget; detail drops as MSPT approaches it.
+     */
+    public double lodTickBudgetMillis() {
+        return lodTickBudgetMillis;
+    }
+
+    /**
+     * Viewer count at which an owner's cosmetics drop one further LOD tier.
+     */
+    public int lodCrowdThreshold() {
+        return lodCrowdThreshold;
+    }
+
+    /**
+     * Phase groups trail wearers are spread over; each group emits once every {@code n} heartbeats.
+     */
+    public int trailPhaseGroups() {
+        return trailPhaseGroups;
+    }
+
+    /**
+     * Phase groups cloak wearers are spread over. The default of two runs cloaks at 10 Hz.
+     */
+    public int cloakPhaseGroups() {
+        return cloakPhaseGroups;
+    }
+
+    /**
+     * How long a loadout fetched during pre-login waits for its join before it is discarded.
+     */
+    public long prefetchTtlMillis() {
+        return prefetchTtlMillis;
+    }
+
+    public static final class Builder {
+        private double viewDistance = DEFAULT_VIEW_DISTANCE;
+        private int maxFramesInFlight = DEFAULT_MAX_FRAMES_IN_FLIGHT;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        private double lodTickBudgetMillis = DEFAULT_LOD_TICK_BUDGET_MILLIS;
+        private int lodCrowdThreshold = DEFAULT_LOD_CROWD_THRESHOLD;
+        private int trailPhaseGroups = DEFAULT_TRAIL_PHASE_GROUPS;
+        private int cloakPhaseGroups = DEFAULT_CLOAK_PHASE_GROUPS;
+        private long prefetchTtlMillis = DEFAULT_PREFETCH_TTL_MILLIS;
+
+        public Builder viewDistance(double viewDistance) {
+            if (Double.isFinite(viewDistance) && viewDistance > 0.0D) {
+                this.viewDistance = viewDistance;
+            }
+            return this;
+        }
+
+        public Builder maxFramesInFlight(int maxFramesInFlight) {
+            if (maxFramesInFlight > 0) {
+                this.maxFramesInFlight = maxFramesInFlight;
+            }
+            return this;
+        }
+
+        public Builder parallelThreshold(int parallelThreshold) {
+            if (parallelThreshold > 0) {
+                this.parallelThreshold = parallelThreshold;
+            }
+            return this;
+        }
+
+        public Builder lodTickBudgetMillis(double lodTickBudgetMillis) {
+            if (Double.isFinite(lodTickBudgetMillis) && lodTickBudgetMillis > 0.0D) {
+                this.lodTickBudgetMillis = lodTickBudgetMillis;
+            }
+            return this;
+        }
+
+        public Builder lodCrowdThreshold(int lodCrowdThreshold) {
+            if (lodCrowdThreshold > 0) {
+                this.lodCrowdThreshold = lodCrowdThreshold;
+            }
+            return this;
+        }
+
+        public Builder trailPhaseGroups(int trailPhaseGroups) {
+            if (trailPhaseGroups > 0) {
+                this.trailPhaseGroups = trailPhaseGroups;
+            }
+            return this;
+        }
+
+        public Builder cloakPhaseGroups(int cloakPhaseGroups) {
+            if (cloakPhaseGroups > 0) {
+                this.cloakPhaseGroups = cloakPhaseGroups;
+            }
+            return this;
+        }
+
+        public Builder prefetchTtlMillis(long prefetchTtlMillis) {
+            if (prefetchTtlMillis > 0L) {
+                this.prefetchTtlMillis = prefetchTtlMillis;
+            }
+            return this;
+        }
+
+        public CosmeticRuntimeSettings build() {
+            return new CosmeticRuntimeSettings(this);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import sh.harold.fulcrum.lobby.cosmetics.CloakCosmetic;
+import sh.harold.fulcrum.lobby.cosmetics.Cosmetic;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticState;
+import sh.harold.fulcrum.lobby.cosmetics.ParticleTrailCosmetic;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs one frame of cosmetic ticks against a snapshot and returns the merged particle batch.
+ *
+ * <p>Has no Bukkit dependencies so it can be driven directly by benchmarks.</p>
+ */
+final class CosmeticTickExecutor {
+    private static final int MIN_TICK_CHUNK = 32;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final ParticleBatchPool batchPool;
+    private final int parallelThreshold;
+    private final CosmeticProfiler profiler;
+    private final Logger logger;
+
+    CosmeticTickExecutor(ForkJoinPool pool, ParticleBatchPool batchPool, int parallelThreshold,
+                         CosmeticProfiler profiler, Logger logger) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.batchPool = Objects.requireNonNull(batchPool, "batchPool");
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        this.profiler = Objects.requireNonNull(profiler, "profiler");
+        this.logger = logger;
+    }
+
+    /**
+     * Ticks every request; the caller owns both the snapshot and the returned batch.
+     */
+    ParticleBatch run(SnapshotArena.Frame snapshot, List<TickRequest> requests) {
+        List<TickRequest> ordered = groupByCosmetic(requests);
+        if (ordered.size() < parallelThreshold) {
+            ParticleBatch batch = batchPool.acquire();
+            tickRange(batch, snapshot, ordered, 0, ordered.size());
+            return batch;
+        }
+        int chunkSize = Math.max(MIN_TICK_CHUNK, ordered.size() / (pool.getParallelism() * CHUNKS_PER_WORKER));
+        TickChunk root = new TickChunk(snapshot, ordered, 0, ordered.size(), chunkSize);
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == pool) {
+            return root.invoke();
+        }
+        return pool.invoke(root);
+    }
+
+    /**
+     * Orders requests so every cosmetic class runs back to back, keeping classes in first-seen order.
+     */
+    private List<TickRequest> groupByCosmetic(List<TickRequest> requests) {
+        Map<Class<?>, List<TickRequest>> groups = new LinkedHashMap<>();
+        for (TickRequest request : requests) {
+            groups.computeIfAbsent(request.cosmetic().getClass(), ignored -> new ArrayList<>()).add(request);
+        }
+        if (groups.size() == 1) {
+            return requests;
+        }
+        List<TickRequest> ordered = new ArrayList<>(requests.size());
+        for (List<TickRequest> group : groups.values()) {
+            ordered.addAll(group);
+        }
+        return ordered;
+    }
+
+    /**
+     * Ticks {@code [from, to)}; consecutive requests for the same shared instance go through one
+     * {@code emitAll} call.
+     */
+    private void tickRange(ParticleBatch batch, SnapshotArena.Frame snapshot, List<TickRequest> requests,
+                           int from, int to) {
+        int index = from;
+        while (index < to) {
+            Cosmetic cosmetic = requests.get(index).cosmetic();
+            int end = index + 1;
+            while (end < to && requests.get(end).cosmetic() == cosmetic) {
+                end++;
+            }
+            if (end - index > 1) {
+                tickShared(batch, snapshot, requests, index, end);
+            } else {
+                tickSingle(batch, snapshot, requests.get(index));
+            }
+            index = end;
+        }
+    }
+
+    private void tickShared(ParticleBatch batch, SnapshotArena.Frame snapshot, List<TickRequest> requests,
+                            int from, int to) {
+        TickRequest first = requests.get(from);
+        String id = first.cosmetic().id();
+        int firstSegment = batch.segmentCount();
+        int before = batch.size();
+        long started = System.nanoTime();
+        try {
+            first.executeAll(batch, new WearerGroup(snapshot, requests, from, to));
+            profiler.recordTicks(id, to - from, System.nanoTime() - started, batch.size() - before);
+        } catch (Exception exception) {
+            profiler.recordFailure(id, System.nanoTime() - started);
+            batch.discardSegmentsFrom(firstSegment);
+            if (logger != null) {
+                logger.log(Level.WARNING, "Batched cosmetic tick failed for " + id
+                        + "; retrying " + (to - from) + " wearers individually", exception);
+            }
+            for (int index = from; index < to; index++) {
+                tickSingle(batch, snapshot, requests.get(index));
+            }
+        }
+    }
+
+    private void tickSingle(ParticleBatch batch, SnapshotArena.Frame snapshot, TickRequest request) {
+        PlayerContext context = snapshot.context(request.slot());
+        batch.begin(context);
+        int before = batch.size();
+        long started = System.nanoTime();
+        try {
+            request.execute(batch, context);
+            profiler.recordTick(request.cosmetic().id(), System.nanoTime() - started, batch.size() - before);
+        } catch (Exception exception) {
+            profiler.recordFailure(request.cosmetic().id(), System.nanoTime() - started);
+            batch.discardSegment();
+            if (logger != null) {
+                logger.log(Level.WARNING, "Cosmetic tick failed for " + request.cosmetic().id(), exception);
+            }
+        }
+    }
+
+    /**
+     * A cosmetic to tick against the given slot of the frame's snapshot, with the wearer's state if any.
+     */
+    record TickRequest(Cosmetic cosmetic, CosmeticState state, int slot) {
+        void execute(ParticleBatch batch, PlayerContext context) {
+            if (cosmetic instanceof ParticleTrailCosmetic trail) {
+                trail.emit(batch, context, state);
+            } else if (cosmetic instanceof CloakCosmetic cloak) {
+                cloak.emit(batch, context, state);
+            }
+        }
+
+        void executeAll(ParticleBatch batch, WearerGroup wearers) {
+            if (cosmetic instanceof ParticleTrailCosmetic trail) {
+                trail.emitAll(batch, wearers);
+            } else if (cosmetic instanceof CloakCosmetic cloak) {
+                cloak.emitAll(batch, wearers);
+            }
+        }
+    }
+
+    /**
+     * Splits a frame in halves until chunks are small enough, then joins the halves left to right so the
+     * merged batch keeps request order regardless of which worker ran each chunk.
+     */
+    private final class TickChunk extends RecursiveTask<ParticleBatch> {
+        private final SnapshotArena.Frame snapshot;
+        private final List<TickRequest> requests;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private TickChunk(SnapshotArena.Frame snapshot, List<TickRequest> requests, int from, int to, int chunkSize) {
+            this.snapshot = snapshot;
+            this.requests = requests;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected ParticleBatch compute() {
+            if (to - from <= chunkSize) {
+                ParticleBatch batch = batchPool.acquire();
+                tickRange(batch, snapshot, requests, from, to);
+                return batch;
+            }
+            int middle = (from + to) >>> 1;
+            TickChunk left = new TickChunk(snapshot, requests, from, middle, chunkSize);
+            TickChunk right = new TickChunk(snapshot, requests, middle, to, chunkSize);
+            left.fork();
+            ParticleBatch tail = right.compute();
+            ParticleBatch head = left.join();
+            head.appendAll(tail);
+            batchPool.release(tail);
+            return head;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Particle packet accounting for the most recent flush and since the runtime started.
+ *
+ * <p>A packet is one particle instruction delivered to one viewer; culled packets are viewers in the
+ * owner's world that were skipped because they were out of range or had the owner hidden.</p>
+ */
+public record DispatchStats(long packetsSent, long packetsCulled, long totalPacketsSent, long totalPacketsCulled) {
+    public static final DispatchStats EMPTY = new DispatchStats(0L, 0L, 0L, 0L);
+}
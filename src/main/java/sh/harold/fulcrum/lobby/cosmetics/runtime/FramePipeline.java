@@ -0,0 +1,152 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded hand-off between the heartbeat, the tick workers and the main-thread flush.
+ *
+ * <p>At most {@code maxFramesInFlight} frames may be computing or waiting to flush, and new frames are
+ * dropped while the pipeline is saturated. Every frame that begins is flushed, in sequence order: a frame
+ * that completes early waits for the frames before it. Consecutive frames tick different phase groups,
+ * so discarding one would silently skip its wearers.</p>
+ */
+final class FramePipeline {
+    private static final double LATENCY_SMOOTHING = 0.1D;
+
+    private final Executor executor;
+    private final ParticleBatchPool batchPool;
+    private final int maxFramesInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Frame> completed = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private long nextSequence = 1L;
+    private volatile long lastLatencyNanos;
+    private volatile long averageLatencyNanos;
+
+    FramePipeline(Executor executor, ParticleBatchPool batchPool, int maxFramesInFlight) {
+        this.executor = executor;
+        this.batchPool = batchPool;
+        this.maxFramesInFlight = Math.max(1, maxFramesInFlight);
+    }
+
+    /**
+     * Reserves a slot for a new frame, returning its sequence number or {@code -1} when saturated.
+     */
+    long tryBegin() {
+        if (inFlight.incrementAndGet() > maxFramesInFlight) {
+            inFlight.decrementAndGet();
+            dropped.increment();
+            return -1L;
+        }
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Releases a slot reserved by {@link #tryBegin()} that ended up with no work. Must be called from the
+     * main thread.
+     */
+    void abandon(long frameSequence) {
+        if (frameSequence <= 0L) {
+            return;
+        }
+        if (frameSequence == nextSequence) {
+            nextSequence++;
+            inFlight.decrementAndGet();
+            return;
+        }
+        completed.put(frameSequence, Frame.empty(frameSequence));
+    }
+
+    void submit(long frameSequence, Supplier<ParticleBatch> work, Consumer<Throwable> failureHandler) {
+        long createdAt = System.nanoTime();
+        submitted.increment();
+        CompletableFuture.supplyAsync(work, executor).whenComplete((batch, throwable) -> {
+            if (throwable != null || batch == null) {
+                failed.increment();
+                // Later frames wait on this sequence, so it still has to be marked done.
+                completed.put(frameSequence, Frame.empty(frameSequence));
+                if (throwable != null && failureHandler != null) {
+                    failureHandler.accept(throwable);
+                }
+                return;
+            }
+            completed.put(frameSequence, new Frame(frameSequence, createdAt, batch));
+        });
+    }
+
+    /**
+     * Flushes every completed frame whose predecessors have all completed, oldest first. Must be called
+     * from the main thread.
+     */
+    void drain(Consumer<ParticleBatch> flusher) {
+        Frame frame;
+        while ((frame = completed.remove(nextSequence)) != null) {
+            nextSequence++;
+            inFlight.decrementAndGet();
+            if (frame.batch() == null) {
+                continue;
+            }
+            try {
+                flusher.accept(frame.batch());
+            } finally {
+                flushed.increment();
+                recordLatency(System.nanoTime() - frame.createdAtNanos());
+            }
+        }
+    }
+
+    /**
+     * Releases completed frames that have not flushed yet; used on shutdown.
+     */
+    void clear() {
+        for (Frame frame : completed.values()) {
+            if (completed.remove(frame.sequence(), frame) && frame.batch() != null) {
+                discarded.increment();
+                batchPool.release(frame.batch());
+            }
+        }
+    }
+
+    PipelineStats stats() {
+        return new PipelineStats(
+                submitted.sum(),
+                flushed.sum(),
+                dropped.sum(),
+                discarded.sum(),
+                failed.sum(),
+                inFlight.get(),
+                lastLatencyNanos,
+                averageLatencyNanos
+        );
+    }
+
+    private void recordLatency(long latencyNanos) {
+        lastLatencyNanos = latencyNanos;
+        long average = averageLatencyNanos;
+        averageLatencyNanos = average == 0L
+                ? latencyNanos
+                : (long) (average + (latencyNanos - average) * LATENCY_SMOOTHING);
+    }
+
+    /**
+     * A completed frame; {@code batch} is {@code null} for frames that failed or had no work.
+     */
+    private record Frame(long sequence, long createdAtNanos, ParticleBatch batch) {
+        static Frame empty(long sequence) {
+            return new Frame(sequence, 0L, null);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free power-of-two histogram of nanosecond durations. {@link #decay()} halves every bucket so the
+ * distribution tracks recent behaviour instead of the whole uptime.
+ */
+final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    void record(long nanos) {
+        buckets.incrementAndGet(bucketOf(nanos));
+    }
+
+    void decay() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.getAndUpdate(i, count -> count >> 1);
+        }
+    }
+
+    long count() {
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket containing the {@code quantile} sample, or {@code 0} when empty.
+     */
+    long percentile(double quantile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(total * Math.max(0.0D, Math.min(1.0D, quantile)));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0L) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long nanos) {
+        return nanos <= 1L ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos - 1L));
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+    }
+}
@@ -0,0 +1,116 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import sh.harold.fulcrum.lobby.cosmetics.loadout.CosmeticLoadout;
+import sh.harold.fulcrum.lobby.cosmetics.loadout.LoadoutService;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts loadout fetches during pre-login and parks them for a short TTL until the join claims them.
+ * {@link #prefetch(UUID)} runs on the async login thread; everything else runs on the main thread.
+ */
+final class LoadoutPrefetcher {
+    private final LoadoutService loadoutService;
+    private final long ttlNanos;
+    private final Map<UUID, Prefetch> prefetches = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder inFlightHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder resolved = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    LoadoutPrefetcher(LoadoutService loadoutService, long ttlMillis) {
+        this.loadoutService = Objects.requireNonNull(loadoutService, "loadoutService");
+        this.ttlNanos = Math.max(1L, ttlMillis) * 1_000_000L;
+    }
+
+    void prefetch(UUID playerId) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<CosmeticLoadout> future = loadoutService.loadout(playerId).toCompletableFuture();
+        started.increment();
+        prefetches.put(playerId, new Prefetch(future, startedAt));
+        future.whenComplete((loadout, throwable) -> {
+            if (throwable != null) {
+                failures.increment();
+                return;
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            resolved.increment();
+            totalLatencyNanos.add(elapsed);
+            latency.record(elapsed);
+        });
+    }
+
+    /**
+     * Removes and returns the player's prefetch, or {@code null} when none is usable and the caller must
+     * fetch the loadout itself.
+     */
+    CompletableFuture<CosmeticLoadout> claim(UUID playerId) {
+        Prefetch prefetch = prefetches.remove(playerId);
+        if (prefetch == null || prefetch.isExpired(System.nanoTime(), ttlNanos)
+                || prefetch.future.isCompletedExceptionally()) {
+            misses.increment();
+            return null;
+        }
+        if (prefetch.future.isDone()) {
+            hits.increment();
+        } else {
+            inFlightHits.increment();
+        }
+        return prefetch.future;
+    }
+
+    /**
+     * Drops prefetches whose player never joined and lets the loadout service evict their documents.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<UUID, Prefetch>> iterator = prefetches.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Prefetch> entry = iterator.next();
+            if (entry.getValue().isExpired(now, ttlNanos)) {
+                iterator.remove();
+                expired.increment();
+                loadoutService.release(entry.getKey());
+            }
+        }
+    }
+
+    void clear() {
+        prefetches.clear();
+    }
+
+    void decay() {
+        latency.decay();
+    }
+
+    PrefetchStats stats() {
+        long count = resolved.sum();
+        return new PrefetchStats(
+                started.sum(),
+                hits.sum(),
+                inFlightHits.sum(),
+                misses.sum(),
+                expired.sum(),
+                failures.sum(),
+                count == 0L ? 0L : totalLatencyNanos.sum() / count,
+                latency.percentile(0.99D)
+        );
+    }
+
+    private record Prefetch(CompletableFuture<CosmeticLoadout> future, long startedAtNanos) {
+        boolean isExpired(long now, long ttlNanos) {
+            return now - startedAtNanos > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Picks a {@link CosmeticLod} per owner from how many players can see them and how loaded the server is.
+ *
+ * <p>The owner always receives their own particles, so nobody is suspended for being alone. Every owner
+ * starts at full detail and steps down as the average tick time approaches the budget, and one further
+ * step when the crowd around them is large enough that every particle fans out to many connections.</p>
+ */
+final class LodController {
+    private static final double HALF_BUDGET_FRACTION = 0.8D;
+    private static final double QUARTER_BUDGET_FRACTION = 0.95D;
+
+    private final Server server;
+    private final CosmeticRuntimeSettings settings;
+    private final Location scratch = new Location(null, 0.0D, 0.0D, 0.0D);
+    private final Location viewerScratch = new Location(null, 0.0D, 0.0D, 0.0D);
+
+    LodController(Server server, CosmeticRuntimeSettings settings) {
+        this.server = Objects.requireNonNull(server, "server");
+        this.settings = Objects.requireNonNull(settings, "settings");
+    }
+
+    /**
+     * Tier implied by the current tick time alone, before per-owner viewer counts are applied.
+     */
+    CosmeticLod baseline() {
+        double mspt = server.getAverageTickTime();
+        double budget = settings.lodTickBudgetMillis();
+        if (mspt >= budget * QUARTER_BUDGET_FRACTION) {
+            return CosmeticLod.QUARTER;
+        }
+        if (mspt >= budget * HALF_BUDGET_FRACTION) {
+            return CosmeticLod.HALF;
+        }
+        return CosmeticLod.FULL;
+    }
+
+    /**
+     * Must be called from the main thread.
+     */
+    CosmeticLod evaluate(Player owner, CosmeticLod baseline) {
+        return countViewers(owner) >= settings.lodCrowdThreshold() ? baseline.coarser() : baseline;
+    }
+
+    /**
+     * Players other than the owner within view distance who can see them.
+     */
+    private int countViewers(Player owner) {
+        World world = owner.getWorld();
+        Location origin = owner.getLocation(scratch);
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double oz = origin.getZ();
+        double range = settings.viewDistanceSquared();
+        List<Player> players = world.getPlayers();
+        int viewers = 0;
+        for (Player viewer : players) {
+            if (viewer == owner || !viewer.canSee(owner)) {
+                continue;
+            }
+            Location location = viewer.getLocation(viewerScratch);
+            double dx = location.getX() - ox;
+            double dy = location.getY() - oy;
+            double dz = location.getZ() - oz;
+            if (dx * dx + dy * dy + dz * dz <= range) {
+                viewers++;
+            }
+        }
+        return viewers;
+    }
+}
@@ -0,0 +1,311 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import org.bukkit.Particle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Reusable struct-of-arrays buffer that cosmetics write particle emissions into.
+ *
+ * <p>Entries are grouped into segments, one per cosmetic tick, so the dispatcher knows which player
+ * owns each particle. Batches are pooled by the runtime and must not be retained by cosmetics.</p>
+ */
+public final class ParticleBatch {
+    private static final Particle[] PARTICLES = Particle.values();
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 32;
+
+    private int size;
+    private int[] particle;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double[] offsetX;
+    private double[] offsetY;
+    private double[] offsetZ;
+    private int[] count;
+    private double[] extra;
+    private Object[] data;
+    private boolean[] force;
+
+    private int segmentCount;
+    private UUID[] segmentOwner;
+    private UUID[] segmentWorld;
+    private int[] segmentStart;
+
+    public ParticleBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticleBatch(int capacity) {
+        int initial = Math.max(1, capacity);
+        particle = new int[initial];
+        x = new double[initial];
+        y = new double[initial];
+        z = new double[initial];
+        offsetX = new double[initial];
+        offsetY = new double[initial];
+        offsetZ = new double[initial];
+        count = new int[initial];
+        extra = new double[initial];
+        data = new Object[initial];
+        force = new boolean[initial];
+        segmentOwner = new UUID[DEFAULT_SEGMENT_CAPACITY];
+        segmentWorld = new UUID[DEFAULT_SEGMENT_CAPACITY];
+        segmentStart = new int[DEFAULT_SEGMENT_CAPACITY];
+    }
+
+    /**
+     * Starts a new segment; every particle added afterwards belongs to {@code ctx}'s player.
+     */
+    public void begin(PlayerContext ctx) {
+        Objects.requireNonNull(ctx, "ctx");
+        begin(ctx.playerId(), ctx.worldId());
+    }
+
+    public void begin(UUID ownerId, UUID worldId) {
+        Objects.requireNonNull(ownerId, "ownerId");
+        Objects.requireNonNull(worldId, "worldId");
+        if (segmentCount == segmentStart.length) {
+            int grown = segmentStart.length * 2;
+            segmentOwner = Arrays.copyOf(segmentOwner, grown);
+            segmentWorld = Arrays.copyOf(segmentWorld, grown);
+            segmentStart = Arrays.copyOf(segmentStart, grown);
+        }
+        segmentOwner[segmentCount] = ownerId;
+        segmentWorld[segmentCount] = worldId;
+        segmentStart[segmentCount] = size;
+        segmentCount++;
+    }
+
+    /**
+     * Drops the particles written since the last {@link #begin(PlayerContext)} along with the segment itself.
+     */
+    public void discardSegment() {
+        if (segmentCount == 0) {
+            return;
+        }
+        segmentCount--;
+        int start = segmentStart[segmentCount];
+        Arrays.fill(data, start, size, null);
+        size = start;
+        segmentOwner[segmentCount] = null;
+        segmentWorld[segmentCount] = null;
+    }
+
+    /**
+     * Drops segment {@code segment} and every segment after it, rolling the batch back to where that segment began.
+     */
+    void discardSegmentsFrom(int segment) {
+        if (segment < 0 || segment >= segmentCount) {
+            return;
+        }
+        int start = segmentStart[segment];
+        Arrays.fill(data, start, size, null);
+        Arrays.fill(segmentOwner, segment, segmentCount, null);
+        Arrays.fill(segmentWorld, segment, segmentCount, null);
+        size = start;
+        segmentCount = segment;
+    }
+
+    public void add(Particle particle, double x, double y, double z) {
+        add(particle, x, y, z, 0.0D, 0.0D, 0.0D, 1, 0.0D, null, false);
+    }
+
+    public void add(Particle particle,
+                    double x, double y, double z,
+                    double offsetX, double offsetY, double offsetZ,
+                    int count, double extra, Object data, boolean force) {
+        Objects.requireNonNull(particle, "particle");
+        if (segmentCount == 0) {
+            throw new IllegalStateException("begin must be called before adding particles");
+        }
+        ensureCapacity(size + 1);
+        int index = size++;
+        this.particle[index] = particle.ordinal();
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+        this.offsetX[index] = offsetX;
+        this.offsetY[index] = offsetY;
+        this.offsetZ[index] = offsetZ;
+        this.count[index] = count <= 0 ? 1 : count;
+        this.extra[index] = extra;
+        this.data[index] = data;
+        this.force[index] = force;
+    }
+
+    public void add(ParticleInstruction instruction) {
+        Vector3d position = instruction.position();
+        Vector3d offset = instruction.offset();
+        add(instruction.particle(),
+                position.x(), position.y(), position.z(),
+                offset.x(), offset.y(), offset.z(),
+                instruction.count(), instruction.extra(), instruction.data(), instruction.force());
+    }
+
+    public void addAll(Collection<ParticleInstruction> instructions) {
+        if (instructions == null || instructions.isEmpty()) {
+            return;
+        }
+        ensureCapacity(size + instructions.size());
+        for (ParticleInstruction instruction : instructions) {
+            add(instruction);
+        }
+    }
+
+    /**
+     * Copies every segment of {@code other} onto the end of this batch, preserving order.
+     */
+    public void appendAll(ParticleBatch other) {
+        Objects.requireNonNull(other, "other");
+        if (other.segmentCount == 0) {
+            return;
+        }
+        int base = size;
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.particle, 0, particle, base, other.size);
+        System.arraycopy(other.x, 0, x, base, other.size);
+        System.arraycopy(other.y, 0, y, base, other.size);
+        System.arraycopy(other.z, 0, z, base, other.size);
+        System.arraycopy(other.offsetX, 0, offsetX, base, other.size);
+        System.arraycopy(other.offsetY, 0, offsetY, base, other.size);
+        System.arraycopy(other.offsetZ, 0, offsetZ, base, other.size);
+        System.arraycopy(other.count, 0, count, base, other.size);
+        System.arraycopy(other.extra, 0, extra, base, other.size);
+        System.arraycopy(other.data, 0, data, base, other.size);
+        System.arraycopy(other.force, 0, force, base, other.size);
+        size += other.size;
+        for (int segment = 0; segment < other.segmentCount; segment++) {
+            begin(other.segmentOwner[segment], other.segmentWorld[segment]);
+            segmentStart[segmentCount - 1] = base + other.segmentStart[segment];
+        }
+    }
+
+    /**
+     * Copies the batch out as instructions, for cosmetics that emit into batches but are still called
+     * through the list-based {@code tick} API.
+     */
+    public List<ParticleInstruction> toInstructions() {
+        List<ParticleInstruction> instructions = new ArrayList<>(size);
+        for (int segment = 0; segment < segmentCount; segment++) {
+            UUID worldId = segmentWorld[segment];
+            for (int index = segmentStart[segment], end = segmentEnd(segment); index < end; index++) {
+                instructions.add(new ParticleInstruction(
+                        particle(index),
+                        worldId,
+                        new Vector3d(x[index], y[index], z[index]),
+                        new Vector3d(offsetX[index], offsetY[index], offsetZ[index]),
+                        count[index],
+                        extra[index],
+                        data[index],
+                        force[index]
+                ));
+            }
+        }
+        return instructions;
+    }
+
+    public void clear() {
+        Arrays.fill(data, 0, size, null);
+        Arrays.fill(segmentOwner, 0, segmentCount, null);
+        Arrays.fill(segmentWorld, 0, segmentCount, null);
+        size = 0;
+        segmentCount = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int segmentCount() {
+        return segmentCount;
+    }
+
+    public UUID segmentOwner(int segment) {
+        return segmentOwner[segment];
+    }
+
+    public UUID segmentWorld(int segment) {
+        return segmentWorld[segment];
+    }
+
+    public int segmentStart(int segment) {
+        return segmentStart[segment];
+    }
+
+    public int segmentEnd(int segment) {
+        return segment + 1 < segmentCount ? segmentStart[segment + 1] : size;
+    }
+
+    public Particle particle(int index) {
+        return PARTICLES[particle[index]];
+    }
+
+    public double x(int index) {
+        return x[index];
+    }
+
+    public double y(int index) {
+        return y[index];
+    }
+
+    public double z(int index) {
+        return z[index];
+    }
+
+    public double offsetX(int index) {
+        return offsetX[index];
+    }
+
+    public double offsetY(int index) {
+        return offsetY[index];
+    }
+
+    public double offsetZ(int index) {
+        return offsetZ[index];
+    }
+
+    public int count(int index) {
+        return count[index];
+    }
+
+    public double extra(int index) {
+        return extra[index];
+    }
+
+    public Object data(int index) {
+        return data[index];
+    }
+
+    public boolean force(int index) {
+        return force[index];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= x.length) {
+            return;
+        }
+        int grown = Math.max(required, x.length * 2);
+        particle = Arrays.copyOf(particle, grown);
+        x = Arrays.copyOf(x, grown);
+        y = Arrays.copyOf(y, grown);
+        z = Arrays.copyOf(z, grown);
+        offsetX = Arrays.copyOf(offsetX, grown);
+        offsetY = Arrays.copyOf(offsetY, grown);
+        offsetZ = Arrays.copyOf(offsetZ, grown);
+        count = Arrays.copyOf(count, grown);
+        extra = Arrays.copyOf(extra, grown);
+        data = Arrays.copyOf(data, grown);
+        force = Arrays.copyOf(force, grown);
+    }
+}
@@ -0,0 +1,39 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of {@link ParticleBatch} buffers shared between the tick workers and the main thread.
+ */
+final class ParticleBatchPool {
+    private final Queue<ParticleBatch> available = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int maxPooled;
+
+    ParticleBatchPool(int maxPooled) {
+        this.maxPooled = Math.max(1, maxPooled);
+    }
+
+    ParticleBatch acquire() {
+        ParticleBatch batch = available.poll();
+        if (batch == null) {
+            return new ParticleBatch();
+        }
+        pooled.decrementAndGet();
+        return batch;
+    }
+
+    void release(ParticleBatch batch) {
+        if (batch == null) {
+            return;
+        }
+        batch.clear();
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        available.offer(batch);
+    }
+}
@@ -0,0 +1,154 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import com.destroystokyo.paper.ParticleBuilder;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Main-thread stage that sends each particle only to viewers in range that can see the owner.
+ *
+ * <p>Visibility follows {@link Player#canSee(Player)}, so owners hidden through the lobby visibility
+ * toggle never reach the viewers that hid them.</p>
+ */
+final class ParticleDispatcher {
+    private final Server server;
+    private final double viewDistanceSquared;
+    private final Map<UUID, ViewerTable> viewersByWorld = new HashMap<>();
+    private final List<Player> receivers = new ArrayList<>();
+    private final Location scratch = new Location(null, 0.0D, 0.0D, 0.0D);
+    private volatile DispatchStats stats = DispatchStats.EMPTY;
+
+    ParticleDispatcher(Server server, double viewDistanceSquared) {
+        this.server = Objects.requireNonNull(server, "server");
+        this.viewDistanceSquared = viewDistanceSquared;
+    }
+
+    DispatchStats stats() {
+        return stats;
+    }
+
+    void dispatch(ParticleBatch batch) {
+        long sent = 0L;
+        long culled = 0L;
+        try {
+            for (int segment = 0; segment < batch.segmentCount(); segment++) {
+                int start = batch.segmentStart(segment);
+                int end = batch.segmentEnd(segment);
+                if (start == end) {
+                    continue;
+                }
+                ViewerTable viewers = viewersFor(batch.segmentWorld(segment));
+                if (viewers == null) {
+                    continue;
+                }
+                viewers.resolveVisibility(server.getPlayer(batch.segmentOwner(segment)));
+                for (int index = start; index < end; index++) {
+                    receivers.clear();
+                    double x = batch.x(index);
+                    double y = batch.y(index);
+                    double z = batch.z(index);
+                    for (int i = 0; i < viewers.size; i++) {
+                        if (!viewers.visible[i] || viewers.distanceSquared(i, x, y, z) > viewDistanceSquared) {
+                            culled++;
+                            continue;
+                        }
+                        receivers.add(viewers.players.get(i));
+                    }
+                    if (receivers.isEmpty()) {
+                        continue;
+                    }
+                    sent += receivers.size();
+                    spawn(viewers.world, batch, index, receivers);
+                }
+            }
+        } finally {
+            viewersByWorld.clear();
+            receivers.clear();
+        }
+        DispatchStats previous = stats;
+        stats = new DispatchStats(sent, culled,
+                previous.totalPacketsSent() + sent,
+                previous.totalPacketsCulled() + culled);
+    }
+
+    private ViewerTable viewersFor(UUID worldId) {
+        ViewerTable cached = viewersByWorld.get(worldId);
+        if (cached != null) {
+            return cached;
+        }
+        World world = server.getWorld(worldId);
+        if (world == null) {
+            return null;
+        }
+        ViewerTable table = new ViewerTable(world, world.getPlayers(), scratch);
+        viewersByWorld.put(worldId, table);
+        return table;
+    }
+
+    private void spawn(World world, ParticleBatch batch, int index, List<Player> targets) {
+        ParticleBuilder builder = new ParticleBuilder(batch.particle(index))
+                .receivers(targets)
+                .count(batch.count(index))
+                .extra(batch.extra(index))
+                .force(batch.force(index))
+                .location(world, batch.x(index), batch.y(index), batch.z(index))
+                .offset(batch.offsetX(index), batch.offsetY(index), batch.offsetZ(index));
+        Object data = batch.data(index);
+        if (data != null) {
+            builder.data(data);
+        }
+        builder.spawn();
+    }
+
+    /**
+     * Viewer positions for one world, captured once per flush.
+     */
+    private static final class ViewerTable {
+        private final World world;
+        private final List<Player> players;
+        private final int size;
+        private final double[] xs;
+        private final double[] ys;
+        private final double[] zs;
+        private final boolean[] visible;
+
+        private ViewerTable(World world, List<Player> players, Location scratch) {
+            this.world = world;
+            this.players = players;
+            this.size = players.size();
+            this.xs = new double[size];
+            this.ys = new double[size];
+            this.zs = new double[size];
+            this.visible = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                Location location = players.get(i).getLocation(scratch);
+                xs[i] = location.getX();
+                ys[i] = location.getY();
+                zs[i] = location.getZ();
+            }
+        }
+
+        private void resolveVisibility(Player owner) {
+            for (int i = 0; i < size; i++) {
+                Player viewer = players.get(i);
+                visible[i] = owner == null || viewer == owner || viewer.canSee(owner);
+            }
+        }
+
+        private double distanceSquared(int index, double x, double y, double z) {
+            double dx = xs[index] - x;
+            double dy = ys[index] - y;
+            double dz = zs[index] - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Spreads wearers of one cosmetic category across {@code groups} phases so only a slice of them ticks
+ * on any given heartbeat. Main thread only.
+ */
+final class PhaseGroups {
+    private final int groups;
+    private final List<Set<UUID>> members;
+    private final Map<UUID, Integer> phases = new HashMap<>();
+
+    PhaseGroups(int groups) {
+        this.groups = Math.max(1, groups);
+        this.members = new ArrayList<>(this.groups);
+        for (int i = 0; i < this.groups; i++) {
+            members.add(new LinkedHashSet<>());
+        }
+    }
+
+    int groups() {
+        return groups;
+    }
+
+    int phaseOf(UUID playerId) {
+        Integer phase = phases.get(playerId);
+        return phase == null ? 0 : phase;
+    }
+
+    /**
+     * Places the player in the least populated phase, keeping an existing assignment if there is one.
+     */
+    void assign(UUID playerId) {
+        if (phases.containsKey(playerId)) {
+            return;
+        }
+        int target = smallest();
+        members.get(target).add(playerId);
+        phases.put(playerId, target);
+    }
+
+    void remove(UUID playerId) {
+        Integer phase = phases.remove(playerId);
+        if (phase == null) {
+            return;
+        }
+        members.get(phase).remove(playerId);
+        rebalance();
+    }
+
+    private void rebalance() {
+        while (true) {
+            int largest = largest();
+            int smallest = smallest();
+            if (members.get(largest).size() - members.get(smallest).size() <= 1) {
+                return;
+            }
+            Iterator<UUID> iterator = members.get(largest).iterator();
+            UUID moved = iterator.next();
+            iterator.remove();
+            members.get(smallest).add(moved);
+            phases.put(moved, smallest);
+        }
+    }
+
+    private int smallest() {
+        int index = 0;
+        for (int i = 1; i < groups; i++) {
+            if (members.get(i).size() < members.get(index).size()) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private int largest() {
+        int index = 0;
+        for (int i = 1; i < groups; i++) {
+            if (members.get(i).size() > members.get(index).size()) {
+                index = i;
+            }
+        }
+        return index;
+    }
+}
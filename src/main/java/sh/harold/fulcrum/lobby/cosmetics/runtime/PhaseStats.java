@@ -0,0 +1,20 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Per-heartbeat cosmetic tick counts with phase staggering applied, next to the counts the same LOD
+ * tiers would produce if every wearer were aligned to phase zero.
+ *
+ * @param samples             heartbeats sampled
+ * @param meanStaggered       average ticks per heartbeat as scheduled
+ * @param varianceStaggered   variance of ticks per heartbeat as scheduled
+ * @param meanUnstaggered     average ticks per heartbeat without staggering
+ * @param varianceUnstaggered variance of ticks per heartbeat without staggering
+ */
+public record PhaseStats(
+        long samples,
+        double meanStaggered,
+        double varianceStaggered,
+        double meanUnstaggered,
+        double varianceUnstaggered
+) {
+}
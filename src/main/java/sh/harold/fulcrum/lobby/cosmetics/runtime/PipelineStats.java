@@ -0,0 +1,25 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Counters for the cosmetic frame pipeline.
+ *
+ * @param framesSubmitted    frames handed to the tick workers
+ * @param framesFlushed      frames whose particles reached the main thread
+ * @param framesDropped      heartbeats skipped because the pipeline was saturated
+ * @param framesDiscarded    completed frames released unflushed when the runtime shut down
+ * @param framesFailed       frames whose async tick threw
+ * @param queueDepth         frames currently computing or waiting to flush
+ * @param lastLatencyNanos   submit-to-flush latency of the most recent frame
+ * @param averageLatencyNanos smoothed submit-to-flush latency
+ */
+public record PipelineStats(
+        long framesSubmitted,
+        long framesFlushed,
+        long framesDropped,
+        long framesDiscarded,
+        long framesFailed,
+        int queueDepth,
+        long lastLatencyNanos,
+        long averageLatencyNanos
+) {
+}
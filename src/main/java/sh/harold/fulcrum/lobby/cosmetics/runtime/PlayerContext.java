@@ -19,7 +19,8 @@ public record PlayerContext(
         float yaw,
         float pitch,
         boolean onGround,
-        long epochMillis
+        long epochMillis,
+        double density
 ) {
 
     public PlayerContext {
@@ -27,9 +28,23 @@ public record PlayerContext(
         Objects.requireNonNull(worldId, "worldId");
         Objects.requireNonNull(position, "position");
         Objects.requireNonNull(velocity, "velocity");
+        density = Double.isFinite(density) ? Math.max(0.0D, Math.min(1.0D, density)) : 1.0D;
+    }
+
+    public PlayerContext(UUID playerId, UUID worldId, Vector3d position, Vector3d velocity,
+                         float yaw, float pitch, boolean onGround, long epochMillis) {
+        this(playerId, worldId, position, velocity, yaw, pitch, onGround, epochMillis, 1.0D);
     }
 
     public static PlayerContext fromPlayer(Player player, Vector3d previousPosition) {
+        return fromPlayer(player, previousPosition, 1.0D);
+    }
+
+    /**
+     * Captures the player's state along with the runtime's particle density hint, where {@code 1.0} is full
+     * detail. Cosmetics may scale their emission by {@link #density()} or ignore it.
+     */
+    public static PlayerContext fromPlayer(Player player, Vector3d previousPosition, double density) {
         Objects.requireNonNull(player, "player");
         Location location = player.getLocation();
         Vector3d current = new Vector3d(location.getX(), location.getY(), location.getZ());
@@ -43,7 +58,8 @@ public record PlayerContext(
                 location.getYaw(),
                 location.getPitch(),
                 player.isOnGround(),
-                System.currentTimeMillis()
+                System.currentTimeMillis(),
+                density
         );
     }
 
@@ -0,0 +1,25 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Outcome of pre-login loadout prefetching since startup.
+ *
+ * @param prefetches          fetches started from {@code AsyncPlayerPreLoginEvent}
+ * @param hits                joins that found the loadout already resolved and applied it synchronously
+ * @param inFlightHits        joins that found the fetch still running and waited on it
+ * @param misses              joins with no usable prefetch that fetched from scratch
+ * @param expired             prefetches discarded unclaimed after the TTL
+ * @param failures            prefetches that completed exceptionally
+ * @param averageLatencyNanos mean time from pre-login to resolved loadout
+ * @param p99LatencyNanos     99th percentile of the same, favouring recent samples
+ */
+public record PrefetchStats(
+        long prefetches,
+        long hits,
+        long inFlightHits,
+        long misses,
+        long expired,
+        long failures,
+        long averageLatencyNanos,
+        long p99LatencyNanos
+) {
+}
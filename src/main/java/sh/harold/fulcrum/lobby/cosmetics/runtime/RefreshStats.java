@@ -0,0 +1,11 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Armour refresh triggers since startup.
+ *
+ * @param requested refreshes asked for by respawn, world change and teleport events
+ * @param performed refreshes actually run after coalescing
+ * @param coalesced requests folded into a refresh already pending for the same player
+ */
+public record RefreshStats(long requested, long performed, long coalesced) {
+}
@@ -0,0 +1,29 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+/**
+ * Welford accumulator for the mean and variance of a stream of samples. Not thread-safe.
+ */
+final class RunningVariance {
+    private long count;
+    private double mean;
+    private double sumSquares;
+
+    void add(double sample) {
+        count++;
+        double delta = sample - mean;
+        mean += delta / count;
+        sumSquares += delta * (sample - mean);
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    double variance() {
+        return count < 2 ? 0.0D : sumSquares / (count - 1);
+    }
+}
@@ -0,0 +1,214 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of flat player snapshot frames. The main thread fills one frame per heartbeat while the tick
+ * workers read frames handed to them earlier, so with {@code maxFramesInFlight + 1} buffers the heartbeat
+ * never waits for, or writes into, a frame a worker is still reading.
+ */
+final class SnapshotArena {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final Queue<Frame> available = new ConcurrentLinkedQueue<>();
+
+    SnapshotArena(int buffers) {
+        for (int i = 0; i < Math.max(1, buffers); i++) {
+            available.offer(new Frame());
+        }
+    }
+
+    /**
+     * Hands out an empty frame stamped with {@code epochMillis}; allocates when every buffer is in use.
+     */
+    Frame acquire(long epochMillis) {
+        Frame frame = available.poll();
+        if (frame == null) {
+            frame = new Frame();
+        }
+        frame.epochMillis = epochMillis;
+        return frame;
+    }
+
+    void release(Frame frame) {
+        if (frame == null) {
+            return;
+        }
+        frame.clear();
+        available.offer(frame);
+    }
+
+    /**
+     * Primitive state for every player captured on one heartbeat. Written by the main thread only before
+     * the frame is submitted, then read-only.
+     */
+    static final class Frame {
+        private int size;
+        private long epochMillis;
+        private UUID[] playerIds = new UUID[DEFAULT_CAPACITY];
+        private UUID[] worldIds = new UUID[DEFAULT_CAPACITY];
+        private double[] x = new double[DEFAULT_CAPACITY];
+        private double[] y = new double[DEFAULT_CAPACITY];
+        private double[] z = new double[DEFAULT_CAPACITY];
+        private double[] velocityX = new double[DEFAULT_CAPACITY];
+        private double[] velocityY = new double[DEFAULT_CAPACITY];
+        private double[] velocityZ = new double[DEFAULT_CAPACITY];
+        private float[] yaw = new float[DEFAULT_CAPACITY];
+        private float[] pitch = new float[DEFAULT_CAPACITY];
+        private boolean[] onGround = new boolean[DEFAULT_CAPACITY];
+        private double[] density = new double[DEFAULT_CAPACITY];
+
+        /**
+         * Records {@code player} into the next slot, deriving velocity from the previous position when known.
+         *
+         * @return the slot index
+         */
+        int capture(Player player, Location scratch, boolean hasPrevious,
+                    double previousX, double previousY, double previousZ, double densityHint) {
+            Location location = player.getLocation(scratch);
+            double currentX = location.getX();
+            double currentY = location.getY();
+            double currentZ = location.getZ();
+            return capture(player.getUniqueId(), player.getWorld().getUID(),
+                    currentX, currentY, currentZ,
+                    hasPrevious ? currentX - previousX : 0.0D,
+                    hasPrevious ? currentY - previousY : 0.0D,
+                    hasPrevious ? currentZ - previousZ : 0.0D,
+                    location.getYaw(), location.getPitch(), player.isOnGround(), densityHint);
+        }
+
+        int capture(UUID playerId, UUID worldId,
+                    double currentX, double currentY, double currentZ,
+                    double deltaX, double deltaY, double deltaZ,
+                    float currentYaw, float currentPitch, boolean grounded, double densityHint) {
+            ensureCapacity(size + 1);
+            int index = size++;
+            playerIds[index] = playerId;
+            worldIds[index] = worldId;
+            x[index] = currentX;
+            y[index] = currentY;
+            z[index] = currentZ;
+            velocityX[index] = deltaX;
+            velocityY[index] = deltaY;
+            velocityZ[index] = deltaZ;
+            yaw[index] = currentYaw;
+            pitch[index] = currentPitch;
+            onGround[index] = grounded;
+            // Clamped the same way PlayerContext clamps it, so both views of the slot agree.
+            density[index] = Double.isFinite(densityHint) ? Math.max(0.0D, Math.min(1.0D, densityHint)) : 1.0D;
+            return index;
+        }
+
+        /**
+         * Materialises the slot as a {@link PlayerContext}. Allocates, so shared cosmetics should read the
+         * slot through {@link WearerGroup} instead; this is for single ticks and lifecycle callbacks.
+         */
+        PlayerContext context(int index) {
+            return new PlayerContext(
+                    playerIds[index],
+                    worldIds[index],
+                    new Vector3d(x[index], y[index], z[index]),
+                    new Vector3d(velocityX[index], velocityY[index], velocityZ[index]),
+                    yaw[index],
+                    pitch[index],
+                    onGround[index],
+                    epochMillis,
+                    density[index]
+            );
+        }
+
+        int size() {
+            return size;
+        }
+
+        long epochMillis() {
+            return epochMillis;
+        }
+
+        UUID playerId(int index) {
+            return playerIds[index];
+        }
+
+        UUID worldId(int index) {
+            return worldIds[index];
+        }
+
+        double x(int index) {
+            return x[index];
+        }
+
+        double y(int index) {
+            return y[index];
+        }
+
+        double z(int index) {
+            return z[index];
+        }
+
+        double velocityX(int index) {
+            return velocityX[index];
+        }
+
+        double velocityY(int index) {
+            return velocityY[index];
+        }
+
+        double velocityZ(int index) {
+            return velocityZ[index];
+        }
+
+        float yaw(int index) {
+            return yaw[index];
+        }
+
+        float pitch(int index) {
+            return pitch[index];
+        }
+
+        double density(int index) {
+            return density[index];
+        }
+
+        double speedSquared(int index) {
+            double vx = velocityX[index];
+            double vy = velocityY[index];
+            double vz = velocityZ[index];
+            return vx * vx + vy * vy + vz * vz;
+        }
+
+        boolean onGround(int index) {
+            return onGround[index];
+        }
+
+        private void clear() {
+            Arrays.fill(playerIds, 0, size, null);
+            Arrays.fill(worldIds, 0, size, null);
+            size = 0;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= x.length) {
+                return;
+            }
+            int grown = Math.max(required, x.length * 2);
+            playerIds = Arrays.copyOf(playerIds, grown);
+            worldIds = Arrays.copyOf(worldIds, grown);
+            x = Arrays.copyOf(x, grown);
+            y = Arrays.copyOf(y, grown);
+            z = Arrays.copyOf(z, grown);
+            velocityX = Arrays.copyOf(velocityX, grown);
+            velocityY = Arrays.copyOf(velocityY, grown);
+            velocityZ = Arrays.copyOf(velocityZ, grown);
+            yaw = Arrays.copyOf(yaw, grown);
+            pitch = Arrays.copyOf(pitch, grown);
+            onGround = Arrays.copyOf(onGround, grown);
+            density = Arrays.copyOf(density, grown);
+        }
+    }
+}
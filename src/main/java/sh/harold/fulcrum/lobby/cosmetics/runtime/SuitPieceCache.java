@@ -0,0 +1,40 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import org.bukkit.inventory.ItemStack;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticKey;
+import sh.harold.fulcrum.lobby.cosmetics.SuitSet;
+import sh.harold.fulcrum.lobby.cosmetics.SuitSlot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Built armour pieces per suit set, shared read-only by every wearer. Each piece is copied once from the
+ * suit; callers must never mutate the returned stacks. Handing them to the inventory is safe because the
+ * server copies stacks on insertion. Main thread only.
+ */
+final class SuitPieceCache {
+    private final Map<CosmeticKey, ItemStack[]> pieces = new HashMap<>();
+
+    ItemStack piece(SuitSet suit, SuitSlot slot) {
+        return pieces.computeIfAbsent(CosmeticKey.of(suit.setId()), ignored -> build(suit))[slot.ordinal()];
+    }
+
+    void clear() {
+        pieces.clear();
+    }
+
+    private static ItemStack[] build(SuitSet suit) {
+        ItemStack[] built = new ItemStack[SuitSlot.values().length];
+        for (SuitSlot slot : SuitSlot.values()) {
+            ItemStack item = switch (slot) {
+                case HELMET -> suit.helmet();
+                case CHEST -> suit.chestplate();
+                case LEGGINGS -> suit.leggings();
+                case BOOTS -> suit.boots();
+            };
+            built[slot.ordinal()] = item == null ? null : item.clone();
+        }
+        return built;
+    }
+}
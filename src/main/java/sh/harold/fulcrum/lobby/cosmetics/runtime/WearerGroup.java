@@ -0,0 +1,114 @@
+package sh.harold.fulcrum.lobby.cosmetics.runtime;
+
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticState;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Every wearer of one shared cosmetic instance due to tick in the current frame, handed to the cosmetic
+ * in a single call. Only valid for the duration of that call.
+ *
+ * <p>The primitive accessors read the frame's snapshot arrays directly, so a cosmetic that uses them
+ * together with {@link ParticleBatch#begin(UUID, UUID)} ticks every wearer without allocating.</p>
+ */
+public final class WearerGroup {
+    private final SnapshotArena.Frame snapshot;
+    private final List<CosmeticTickExecutor.TickRequest> requests;
+    private final int from;
+    private final int size;
+
+    WearerGroup(SnapshotArena.Frame snapshot, List<CosmeticTickExecutor.TickRequest> requests, int from, int to) {
+        this.snapshot = snapshot;
+        this.requests = requests;
+        this.from = from;
+        this.size = to - from;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Materialises the wearer's context; allocates, so prefer the primitive accessors on hot paths.
+     */
+    public PlayerContext context(int index) {
+        return snapshot.context(requests.get(from + checkIndex(index)).slot());
+    }
+
+    public long epochMillis() {
+        return snapshot.epochMillis();
+    }
+
+    public UUID playerId(int index) {
+        return snapshot.playerId(slot(index));
+    }
+
+    public UUID worldId(int index) {
+        return snapshot.worldId(slot(index));
+    }
+
+    public double x(int index) {
+        return snapshot.x(slot(index));
+    }
+
+    public double y(int index) {
+        return snapshot.y(slot(index));
+    }
+
+    public double z(int index) {
+        return snapshot.z(slot(index));
+    }
+
+    /**
+     * Movement along x since the previous heartbeat.
+     */
+    public double velocityX(int index) {
+        return snapshot.velocityX(slot(index));
+    }
+
+    public double velocityY(int index) {
+        return snapshot.velocityY(slot(index));
+    }
+
+    public double velocityZ(int index) {
+        return snapshot.velocityZ(slot(index));
+    }
+
+    public float yaw(int index) {
+        return snapshot.yaw(slot(index));
+    }
+
+    public float pitch(int index) {
+        return snapshot.pitch(slot(index));
+    }
+
+    public boolean onGround(int index) {
+        return snapshot.onGround(slot(index));
+    }
+
+    /**
+     * Same hint as {@link PlayerContext#density()}, in {@code [0, 1]}.
+     */
+    public double density(int index) {
+        return snapshot.density(slot(index));
+    }
+
+    /**
+     * The state created for this wearer, or {@code null} when the cosmetic does not use one.
+     */
+    public CosmeticState state(int index) {
+        return requests.get(from + checkIndex(index)).state();
+    }
+
+    private int slot(int index) {
+        return requests.get(from + checkIndex(index)).slot();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Wearer " + index + " out of " + size);
+        }
+        return index;
+    }
+}
@@ -1,6 +1,7 @@
 package sh.harold.fulcrum.lobby.feature;
 
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
@@ -20,21 +21,42 @@ import org.bukkit.plugin.java.JavaPlugin;
 import sh.harold.fulcrum.api.rank.RankUtils;
 import sh.harold.fulcrum.common.settings.PlayerSettingsService;
 import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
+import sh.harold.fulcrum.lobby.config.LobbyConfiguration;
+import sh.harold.fulcrum.lobby.config.LobbyConfigurationRegistry;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticCategory;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticDescriptor;
-import sh.harold.fulcrum.lobby.cosmetics.CosmeticKeys;
+import sh.harold.fulcrum.lobby.cosmetics.CosmeticKey;
 import sh.harold.fulcrum.lobby.cosmetics.CosmeticSlot;
 import sh.harold.fulcrum.lobby.cosmetics.SuitSlot;
+import sh.harold.fulcrum.lobby.cosmetics.loadout.CompactLoadoutCodec;
+import sh.harold.fulcrum.lobby.cosmetics.loadout.LoadoutMutation;
 import sh.harold.fulcrum.lobby.cosmetics.loadout.LoadoutService;
+import sh.harold.fulcrum.lobby.cosmetics.loadout.LoadoutStats;
 import sh.harold.fulcrum.lobby.cosmetics.loadout.PlayerSettingsLoadoutService;
 import sh.harold.fulcrum.lobby.cosmetics.registry.CosmeticRegistry;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.CosmeticProfile;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.CosmeticProfileSnapshot;
 import sh.harold.fulcrum.lobby.cosmetics.runtime.CosmeticRuntime;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.CosmeticRuntimeSettings;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.DispatchStats;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.PipelineStats;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.PrefetchStats;
+import sh.harold.fulcrum.lobby.cosmetics.runtime.RefreshStats;
+import sh.harold.fulcrum.lobby.system.EnvironmentSettings;
 import sh.harold.fulcrum.lobby.system.LobbyFeature;
 import sh.harold.fulcrum.lobby.system.LobbyFeatureContext;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,6 +65,19 @@ import java.util.logging.Logger;
  */
 public final class LobbyCosmeticsFeature implements LobbyFeature {
     private static final String GAME_SCOPE = "lobby";
+    private static final String VIEW_DISTANCE_KEY = "lobby.cosmetics.viewDistance";
+    private static final String MAX_FRAMES_IN_FLIGHT_KEY = "lobby.cosmetics.maxFramesInFlight";
+    private static final String PARALLEL_THRESHOLD_KEY = "lobby.cosmetics.parallelThreshold";
+    private static final String LOD_TICK_BUDGET_KEY = "lobby.cosmetics.lod.tickBudgetMillis";
+    private static final String LOD_CROWD_THRESHOLD_KEY = "lobby.cosmetics.lod.crowdThreshold";
+    private static final String TRAIL_PHASE_GROUPS_KEY = "lobby.cosmetics.phaseGroups.trail";
+    private static final String CLOAK_PHASE_GROUPS_KEY = "lobby.cosmetics.phaseGroups.cloak";
+    private static final String PREFETCH_TTL_KEY = "lobby.cosmetics.prefetch.ttlMillis";
+    private static final String REGISTRY_SCAN_JAR_KEY = "lobby.cosmetics.registry.scanJar";
+    private static final String LOADOUT_FLUSH_DELAY_KEY = "lobby.cosmetics.loadout.flushDelayMillis";
+    private static final long LOADOUT_SHUTDOWN_FLUSH_SECONDS = 5L;
+    private static final int DEFAULT_STATS_TOP = 5;
+    private static final int MAX_STATS_TOP = 50;
     private static final Component STAFF_ONLY_MESSAGE = Component.text(
             "Only staff members can run /debugcosmetic.", NamedTextColor.RED);
     private static final Component PLAYER_ONLY_MESSAGE = Component.text(
@@ -81,9 +116,20 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
             return;
         }
 
-        this.loadoutService = new PlayerSettingsLoadoutService(scope);
-        this.registry = new CosmeticRegistry(plugin, logger);
-        this.runtime = new CosmeticRuntime(plugin, registry, loadoutService, logger);
+        Map<String, Object> settings = context.get(LobbyConfiguration.class)
+                .orElseGet(LobbyConfigurationRegistry::current)
+                .environmentSettings();
+        Duration flushDelay = EnvironmentSettings.getInt(settings, LOADOUT_FLUSH_DELAY_KEY).stream()
+                .filter(millis -> millis >= 0)
+                .mapToObj(Duration::ofMillis)
+                .findFirst()
+                .orElse(PlayerSettingsLoadoutService.DEFAULT_FLUSH_DELAY);
+        boolean scanJar = EnvironmentSettings.getBoolean(settings, REGISTRY_SCAN_JAR_KEY).orElse(false);
+        this.registry = new CosmeticRegistry(plugin, scanJar, logger);
+        this.loadoutService = new PlayerSettingsLoadoutService(scope, CompactLoadoutCodec.forRegistry(registry),
+                flushDelay, logger);
+        this.runtime = new CosmeticRuntime(plugin, registry, loadoutService, resolveRuntimeSettings(settings),
+                logger);
 
         PluginManager pluginManager = plugin.getServer().getPluginManager();
         pluginManager.registerEvents(runtime, plugin);
@@ -103,6 +149,9 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
             HandlerList.unregisterAll(runtime);
             runtime.close();
         }
+        if (loadoutService != null) {
+            flushLoadouts(loadoutService);
+        }
         runtime = null;
         registry = null;
         loadoutService = null;
@@ -120,8 +169,9 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
                     Commands.literal("debugcosmetic")
                             .then(infoArgument())
                             .then(equipArgument())
+                            .then(statsArgument())
                             .build(),
-                    "Inspect or equip lobby cosmetics"
+                    "Inspect, equip or profile lobby cosmetics"
             );
         });
     }
@@ -140,6 +190,15 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
                         .executes(context -> handleEquip(context, StringArgumentType.getString(context, "id"))));
     }
 
+    private ArgumentBuilder<CommandSourceStack, ?> statsArgument() {
+        return Commands.literal("stats")
+                .executes(context -> handleStats(context, DEFAULT_STATS_TOP))
+                .then(Commands.literal("top")
+                        .then(Commands.argument("count", IntegerArgumentType.integer(1, MAX_STATS_TOP))
+                                .executes(context -> handleStats(context,
+                                        IntegerArgumentType.getInteger(context, "count")))));
+    }
+
     private int handleInfo(CommandContext<CommandSourceStack> context, String rawId) {
         CommandSourceStack source = context.getSource();
         if (!hasStaffPrivileges(source)) {
@@ -205,9 +264,76 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
         return Command.SINGLE_SUCCESS;
     }
 
+    private int handleStats(CommandContext<CommandSourceStack> context, int limit) {
+        CommandSourceStack source = context.getSource();
+        if (!hasStaffPrivileges(source)) {
+            source.getSender().sendMessage(STAFF_ONLY_MESSAGE);
+            return Command.SINGLE_SUCCESS;
+        }
+        CosmeticProfileSnapshot profile = runtime.profile();
+        PipelineStats pipeline = runtime.pipelineStats();
+        DispatchStats dispatch = runtime.dispatchStats();
+        LoadoutStats loadouts = loadoutService.stats();
+        PrefetchStats prefetch = runtime.prefetchStats();
+        RefreshStats refresh = runtime.refreshStats();
+        Component stats = Component.text()
+                .append(Component.text("Cosmetic Stats", NamedTextColor.GOLD).decoration(TextDecoration.BOLD, true))
+                .append(Component.newline())
+                .append(statLine("Flush", "last " + formatMicros(profile.lastFlushNanos())
+                        + ", p50 " + formatMicros(profile.flushP50Nanos())
+                        + ", p99 " + formatMicros(profile.flushP99Nanos())))
+                .append(Component.newline())
+                .append(statLine("Frames", pipeline.framesFlushed() + " flushed, "
+                        + pipeline.framesDropped() + " dropped, "
+                        + pipeline.framesFailed() + " failed, depth " + pipeline.queueDepth()))
+                .append(Component.newline())
+                .append(statLine("Packets", dispatch.packetsSent() + " sent, "
+                        + dispatch.packetsCulled() + " culled last frame"))
+                .append(Component.newline())
+                .append(statLine("Loadouts", loadouts.calls() + " calls, " + loadouts.mutations() + " mutations, "
+                        + loadouts.documentReads() + " reads, " + loadouts.documentWrites() + " writes"))
+                .append(Component.newline())
+                .append(statLine("Prefetch", prefetch.hits() + " hits, " + prefetch.inFlightHits() + " in flight, "
+                        + prefetch.misses() + " misses, " + prefetch.expired() + " expired, avg "
+                        + formatMicros(prefetch.averageLatencyNanos()) + ", p99 "
+                        + formatMicros(prefetch.p99LatencyNanos())))
+                .append(Component.newline())
+                .append(statLine("Refresh", refresh.performed() + " run, " + refresh.coalesced() + " coalesced of "
+                        + refresh.requested() + " requested"))
+                .build();
+        for (CosmeticProfile cosmetic : profile.top(limit)) {
+            stats = stats.append(Component.newline())
+                    .append(Component.text(cosmetic.id(), NamedTextColor.YELLOW))
+                    .append(Component.text(" " + cosmetic.invocations() + " ticks, avg "
+                            + formatMicros(cosmetic.averageNanos())
+                            + ", p99 " + formatMicros(cosmetic.p99Nanos())
+                            + ", " + cosmetic.particles() + " particles", NamedTextColor.GRAY));
+            if (cosmetic.exceptions() > 0L) {
+                stats = stats.append(Component.text(", " + cosmetic.exceptions() + " errors", NamedTextColor.RED));
+            }
+        }
+        if (profile.cosmetics().isEmpty()) {
+            stats = stats.append(Component.newline())
+                    .append(Component.text("No cosmetic ticks recorded yet.", NamedTextColor.GRAY));
+        }
+        source.getSender().sendMessage(stats);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private Component statLine(String label, String value) {
+        return Component.text()
+                .append(Component.text(label + ": ", NamedTextColor.GRAY))
+                .append(Component.text(value, NamedTextColor.WHITE))
+                .build();
+    }
+
+    private String formatMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0D);
+    }
+
     private CompletionStage<Void> equipCosmetic(Player player, CosmeticDescriptor descriptor) {
         UUID playerId = player.getUniqueId();
-        CosmeticCategory category = CosmeticKeys.categoryFromId(descriptor.id()).orElse(null);
+        CosmeticCategory category = CosmeticKey.of(descriptor.id()).category().orElse(null);
         if (category == null) {
             return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown category for " + descriptor.id()));
         }
@@ -225,22 +351,21 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
     }
 
     private CompletionStage<Void> equipSuit(UUID playerId, String setId) {
-        CompletionStage<Void> stage = CompletableFuture.completedFuture(null);
+        List<LoadoutMutation> mutations = new ArrayList<>(SuitSlot.values().length * 2);
+        CosmeticKey setKey = CosmeticKey.of(setId);
         for (SuitSlot slot : SuitSlot.values()) {
-            String pieceKey = CosmeticKeys.suitPieceKey(setId, slot);
-            stage = stage.thenCompose(v -> addUnlocked(playerId, pieceKey))
-                    .thenCompose(v -> loadoutService.setEquipped(playerId, slot.cosmeticSlot(), pieceKey));
+            String pieceKey = setKey.pieceKey(slot).value();
+            mutations.add(LoadoutMutation.unlock(pieceKey));
+            mutations.add(LoadoutMutation.equip(slot.cosmeticSlot(), pieceKey));
         }
-        return stage;
+        return loadoutService.apply(playerId, mutations).thenApply(ignored -> null);
     }
 
     private CompletionStage<Void> equipSingle(UUID playerId, CosmeticSlot slot, String key) {
-        return addUnlocked(playerId, key)
-                .thenCompose(v -> loadoutService.setEquipped(playerId, slot, key));
-    }
-
-    private CompletionStage<Void> addUnlocked(UUID playerId, String key) {
-        return loadoutService.addUnlocked(playerId, key).thenApply(ignored -> null);
+        return loadoutService.apply(playerId, List.of(
+                LoadoutMutation.unlock(key),
+                LoadoutMutation.equip(slot, key)
+        )).thenApply(ignored -> null);
     }
 
     private CompletableFuture<Suggestions> suggestCosmetics(CommandContext<CommandSourceStack> context,
@@ -265,10 +390,35 @@ public final class LobbyCosmeticsFeature implements LobbyFeature {
         return RankUtils.isStaff(player);
     }
 
+    private void flushLoadouts(LoadoutService service) {
+        try {
+            service.close().toCompletableFuture().get(LOADOUT_SHUTDOWN_FLUSH_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException exception) {
+            if (logger != null) {
+                logger.log(Level.WARNING, "Unable to flush buffered cosmetic loadouts on shutdown", exception);
+            }
+        }
+    }
+
     private Component unknownCosmetic(String rawId) {
         return Component.text("Unknown cosmetic '" + rawId + "'.", NamedTextColor.RED);
     }
 
+    private CosmeticRuntimeSettings resolveRuntimeSettings(Map<String, Object> settings) {
+        CosmeticRuntimeSettings.Builder builder = CosmeticRuntimeSettings.builder();
+        EnvironmentSettings.getDouble(settings, VIEW_DISTANCE_KEY).ifPresent(builder::viewDistance);
+        EnvironmentSettings.getInt(settings, MAX_FRAMES_IN_FLIGHT_KEY).ifPresent(builder::maxFramesInFlight);
+        EnvironmentSettings.getInt(settings, PARALLEL_THRESHOLD_KEY).ifPresent(builder::parallelThreshold);
+        EnvironmentSettings.getDouble(settings, LOD_TICK_BUDGET_KEY).ifPresent(builder::lodTickBudgetMillis);
+        EnvironmentSettings.getInt(settings, LOD_CROWD_THRESHOLD_KEY).ifPresent(builder::lodCrowdThreshold);
+        EnvironmentSettings.getInt(settings, TRAIL_PHASE_GROUPS_KEY).ifPresent(builder::trailPhaseGroups);
+        EnvironmentSettings.getInt(settings, CLOAK_PHASE_GROUPS_KEY).ifPresent(builder::cloakPhaseGroups);
+        EnvironmentSettings.getInt(settings, PREFETCH_TTL_KEY).ifPresent(builder::prefetchTtlMillis);
+        return builder.build();
+    }
+
     private PlayerSettingsService.GameSettingsScope resolveSettingsScope() {
         ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
         if (locator == null) {
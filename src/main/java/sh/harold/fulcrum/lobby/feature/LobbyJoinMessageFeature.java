@@ -15,9 +15,9 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import sh.harold.fulcrum.api.rank.Rank;
-import sh.harold.fulcrum.api.rank.RankUtils;
 import sh.harold.fulcrum.lobby.config.LobbyConfiguration;
 import sh.harold.fulcrum.lobby.config.LobbyConfigurationRegistry;
+import sh.harold.fulcrum.lobby.rank.LobbyRankCache;
 import sh.harold.fulcrum.lobby.system.LobbyFeature;
 import sh.harold.fulcrum.lobby.system.LobbyFeatureContext;
 import sh.harold.fulcrum.common.settings.PlayerSettingsService;
@@ -54,6 +54,7 @@ public final class LobbyJoinMessageFeature implements LobbyFeature, Listener {
     private Logger logger;
     private Supplier<LobbyConfiguration> configurationSupplier = LobbyConfigurationRegistry::current;
     private PlayerSettingsService playerSettings;
+    private LobbyRankCache rankCache;
     private PlayerSettingsService.GameSettingsScope lobbySettingsScope;
     private final ConcurrentHashMap<UUID, Boolean> joinVisibilityCache = new ConcurrentHashMap<>();
 
@@ -73,6 +74,7 @@ public final class LobbyJoinMessageFeature implements LobbyFeature, Listener {
         this.logger = context.logger();
         this.configurationSupplier = () -> context.get(LobbyConfiguration.class)
                 .orElseGet(LobbyConfigurationRegistry::current);
+        this.rankCache = context.get(LobbyRankCache.class).orElse(null);
 
         ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
         if (locator != null) {
@@ -96,6 +98,7 @@ public final class LobbyJoinMessageFeature implements LobbyFeature, Listener {
         this.logger = null;
         this.playerSettings = null;
         this.lobbySettingsScope = null;
+        this.rankCache = null;
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -241,10 +244,7 @@ public final class LobbyJoinMessageFeature implements LobbyFeature, Listener {
     }
 
     private Rank resolveRank(Player player) {
-        if (player == null) {
-            return Rank.DEFAULT;
-        }
-        return Optional.ofNullable(RankUtils.getEffectiveRank(player)).orElse(Rank.DEFAULT);
+        return rankCache != null ? rankCache.rank(player) : LobbyRankCache.runtimeRank(player);
     }
 
     private String resolveTemplate(Rank rank, LobbyConfiguration configuration) {
@@ -19,18 +19,15 @@ import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.ScoreboardManager;
 import org.bukkit.scoreboard.Team;
 import sh.harold.fulcrum.api.rank.Rank;
-import sh.harold.fulcrum.api.rank.RankService;
-import sh.harold.fulcrum.api.rank.RankUtils;
-import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
+import sh.harold.fulcrum.lobby.rank.LobbyRankCache;
+import sh.harold.fulcrum.lobby.rank.RankChangeListener;
 
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -44,7 +41,8 @@ public final class LobbyNametagFeature implements LobbyFeature, Listener {
     private JavaPlugin plugin;
     private Logger logger;
     private Scoreboard scoreboard;
-    private RankService rankService;
+    private LobbyRankCache rankCache;
+    private RankChangeListener rankListener;
 
     @Override
     public String id() {
@@ -67,16 +65,22 @@ public final class LobbyNametagFeature implements LobbyFeature, Listener {
             return;
         }
 
-        ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
-        if (locator != null) {
-            rankService = locator.findService(RankService.class).orElse(null);
+        rankCache = context.get(LobbyRankCache.class).orElse(null);
+        if (rankCache != null) {
+            rankListener = (playerId, previous, current) -> {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player != null) {
+                    applyNametag(player, current);
+                }
+            };
+            rankCache.addListener(rankListener);
         }
 
         PluginManager pluginManager = plugin.getServer().getPluginManager();
         pluginManager.registerEvents(this, plugin);
 
         Bukkit.getOnlinePlayers().forEach(this::refreshNametag);
-        logger.info("Lobby nametag feature initialised" + (rankService == null ? " (using cached rank state)" : "."));
+        logger.info("Lobby nametag feature initialised" + (rankCache == null ? " (using runtime rank state)." : "."));
     }
 
     @Override
@@ -87,7 +91,11 @@ public final class LobbyNametagFeature implements LobbyFeature, Listener {
         cleanupTeams();
 
         playerTeams.clear();
-        rankService = null;
+        if (rankCache != null && rankListener != null) {
+            rankCache.removeListener(rankListener);
+        }
+        rankCache = null;
+        rankListener = null;
         scoreboard = null;
         plugin = null;
         logger = null;
@@ -112,26 +120,8 @@ public final class LobbyNametagFeature implements LobbyFeature, Listener {
         if (player == null || scoreboard == null) {
             return;
         }
-        loadRank(player).thenAccept(rank ->
-                runOnMainThread(() -> applyNametag(player, Optional.ofNullable(rank).orElse(Rank.DEFAULT))));
-    }
-
-    private CompletableFuture<Rank> loadRank(Player player) {
-        if (rankService == null) {
-            return CompletableFuture.completedFuture(fallbackRank(player));
-        }
-        return rankService.getEffectiveRank(player.getUniqueId())
-                .exceptionally(throwable -> {
-                    if (logger != null) {
-                        logger.log(Level.WARNING, "Failed to resolve rank for " + player.getName() + "; falling back to cached state.", throwable);
-                    }
-                    return fallbackRank(player);
-                });
-    }
-
-    private Rank fallbackRank(Player player) {
-        Rank rank = RankUtils.getEffectiveRank(player);
-        return rank != null ? rank : Rank.DEFAULT;
+        Rank rank = rankCache != null ? rankCache.rank(player) : LobbyRankCache.runtimeRank(player);
+        runOnMainThread(() -> applyNametag(player, rank));
     }
 
     private void applyNametag(Player player, Rank rank) {
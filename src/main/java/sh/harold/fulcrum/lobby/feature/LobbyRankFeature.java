@@ -0,0 +1,178 @@
+package sh.harold.fulcrum.lobby.feature;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import sh.harold.fulcrum.api.rank.RankService;
+import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
+import sh.harold.fulcrum.lobby.config.LobbyConfiguration;
+import sh.harold.fulcrum.lobby.config.LobbyConfigurationRegistry;
+import sh.harold.fulcrum.lobby.rank.LobbyRankCache;
+import sh.harold.fulcrum.lobby.rank.LocalRankChangePublisher;
+import sh.harold.fulcrum.lobby.rank.RankChangeSource;
+import sh.harold.fulcrum.lobby.rank.RankRefreshStats;
+import sh.harold.fulcrum.lobby.system.EnvironmentSettings;
+import sh.harold.fulcrum.lobby.system.LobbyFeature;
+import sh.harold.fulcrum.lobby.system.LobbyFeatureContext;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Owns the shared {@link LobbyRankCache}: registers it before any rank-aware feature starts, prefetches
+ * ranks during pre-login and keeps online players' entries fresh.
+ *
+ * <p>When the runtime provides a {@link RankChangeSource}, changes are pushed and polling drops to a
+ * slow safety-net sweep. A {@link LocalRankChangePublisher} is always registered for in-process changes.</p>
+ */
+public final class LobbyRankFeature implements LobbyFeature, Listener {
+    private static final String CACHE_TTL_KEY = "lobby.ranks.cacheTtlMillis";
+    private static final String MAX_CONCURRENT_FETCHES_KEY = "lobby.ranks.maxConcurrentFetches";
+    private static final String PUSH_SWEEP_TTL_KEY = "lobby.ranks.pushSweepTtlMillis";
+    private static final Duration DEFAULT_PUSH_SWEEP_TTL = Duration.ofMinutes(5L);
+    private static final long REVALIDATE_INTERVAL_TICKS = 20L;
+    private static final long PUSH_REVALIDATE_INTERVAL_TICKS = 600L;
+    private static final long STATS_LOG_INTERVAL_TICKS = 1_200L;
+
+    private JavaPlugin plugin;
+    private LobbyRankCache rankCache;
+    private BukkitTask revalidateTask;
+    private BukkitTask statsTask;
+    private Logger logger;
+    private long lastLoggedFetches;
+
+    @Override
+    public String id() {
+        return "rank-cache";
+    }
+
+    @Override
+    public int priority() {
+        return 15;
+    }
+
+    @Override
+    public void initialize(LobbyFeatureContext context) {
+        this.plugin = context.plugin();
+        this.logger = context.logger();
+
+        RankService rankService = null;
+        ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
+        if (locator != null) {
+            rankService = locator.findService(RankService.class).orElse(null);
+        }
+        RankChangeSource pushSource = locator != null
+                ? locator.findService(RankChangeSource.class).orElse(null)
+                : null;
+        Map<String, Object> settings = context.get(LobbyConfiguration.class)
+                .orElseGet(LobbyConfigurationRegistry::current)
+                .environmentSettings();
+        Duration ttl = pushSource != null
+                ? positiveMillis(settings, PUSH_SWEEP_TTL_KEY, DEFAULT_PUSH_SWEEP_TTL)
+                : positiveMillis(settings, CACHE_TTL_KEY, LobbyRankCache.DEFAULT_TTL);
+        int maxConcurrentFetches = EnvironmentSettings.getInt(settings, MAX_CONCURRENT_FETCHES_KEY)
+                .orElse(LobbyRankCache.DEFAULT_MAX_CONCURRENT_FETCHES);
+        this.rankCache = new LobbyRankCache(plugin, rankService, ttl, maxConcurrentFetches, logger);
+        LocalRankChangePublisher localPublisher = new LocalRankChangePublisher();
+        rankCache.subscribe(localPublisher);
+        if (pushSource != null) {
+            rankCache.subscribe(pushSource);
+        }
+        context.register(LobbyRankCache.class, rankCache);
+        context.register(LocalRankChangePublisher.class, localPublisher);
+
+        PluginManager pluginManager = plugin.getServer().getPluginManager();
+        pluginManager.registerEvents(this, plugin);
+        Bukkit.getOnlinePlayers().forEach(rankCache::rank);
+        revalidateTask = Bukkit.getScheduler().runTaskTimer(plugin, rankCache::revalidateStale,
+                20L, pushSource != null ? PUSH_REVALIDATE_INTERVAL_TICKS : REVALIDATE_INTERVAL_TICKS);
+        statsTask = Bukkit.getScheduler().runTaskTimer(plugin, this::logStats,
+                STATS_LOG_INTERVAL_TICKS, STATS_LOG_INTERVAL_TICKS);
+
+        logger.info("Lobby rank cache initialised" + (rankService == null
+                ? " (RankService unavailable; using runtime rank state)" : "")
+                + (pushSource != null ? " with pushed rank changes." : "."));
+    }
+
+    @Override
+    public void shutdown(LobbyFeatureContext context) {
+        HandlerList.unregisterAll(this);
+        if (revalidateTask != null) {
+            revalidateTask.cancel();
+            revalidateTask = null;
+        }
+        if (statsTask != null) {
+            statsTask.cancel();
+            statsTask = null;
+        }
+        if (rankCache != null) {
+            rankCache.close();
+            rankCache = null;
+        }
+        context.register(LobbyRankCache.class, null);
+        context.register(LocalRankChangePublisher.class, null);
+        plugin = null;
+        logger = null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        LobbyRankCache cache = rankCache;
+        if (cache != null && event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            cache.prefetch(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (rankCache != null) {
+            rankCache.rank(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        if (rankCache != null) {
+            rankCache.invalidate(event.getPlayer().getUniqueId());
+        }
+    }
+
+    private void logStats() {
+        if (rankCache == null || logger == null || !logger.isLoggable(Level.FINE)) {
+            return;
+        }
+        RankRefreshStats stats = rankCache.stats();
+        if (stats.fetches() == lastLoggedFetches) {
+            return;
+        }
+        lastLoggedFetches = stats.fetches();
+        logger.fine(String.format(Locale.ROOT,
+                "Rank refresh: %.1f/s, avg %.1fms, peak %.1fms, %d queued, %d in flight, %d failed of %d",
+                stats.fetchesPerSecond(),
+                stats.averageLatencyNanos() / 1_000_000.0D,
+                stats.peakLatencyNanos() / 1_000_000.0D,
+                stats.queued(),
+                stats.inFlight(),
+                stats.failures(),
+                stats.fetches()));
+    }
+
+    private static Duration positiveMillis(Map<String, Object> settings, String key, Duration fallback) {
+        return EnvironmentSettings.getInt(settings, key).stream()
+                .filter(millis -> millis > 0)
+                .mapToObj(Duration::ofMillis)
+                .findFirst()
+                .orElse(fallback);
+    }
+}
@@ -4,7 +4,6 @@ import sh.harold.fulcrum.lobby.system.LobbyFeature;
 import sh.harold.fulcrum.lobby.system.LobbyFeatureContext;
 
 import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
@@ -24,19 +23,21 @@ import sh.harold.fulcrum.api.message.scoreboard.module.ScoreboardModule;
 import sh.harold.fulcrum.api.message.scoreboard.registry.ScoreboardDefinition;
 import sh.harold.fulcrum.api.module.FulcrumEnvironment;
 import sh.harold.fulcrum.api.rank.Rank;
-import sh.harold.fulcrum.api.rank.RankService;
-import sh.harold.fulcrum.api.rank.RankUtils;
 import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
+import sh.harold.fulcrum.lobby.rank.LobbyRankCache;
+import sh.harold.fulcrum.lobby.rank.RankChangeListener;
 import sh.harold.fulcrum.lobby.system.EnvironmentSettings;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -45,8 +46,6 @@ import java.util.logging.Logger;
 public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
     private static final String SCOREBOARD_ID = "lobby:main";
     private static final long RANK_REFRESH_INTERVAL_MS = TimeUnit.SECONDS.toMillis(1);
-    private static final long RANK_CACHE_TTL_MS = TimeUnit.SECONDS.toMillis(10);
-    private static final long RANK_REFRESH_TASK_INTERVAL_TICKS = 100L;
     private static final String DEFAULT_HEADER_LABEL = "Lobby";
     private static final String[] SCOREBOARD_TITLE_PATHS = {
             "lobby.scoreboard.title",
@@ -56,14 +55,16 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
     private JavaPlugin plugin;
     private Logger logger;
     private ScoreboardService scoreboardService;
-    private RankService rankService;
+    private LobbyRankCache rankCache;
+    private RankChangeListener rankListener;
     private ServerIdentifier serverIdentifier;
     private String defaultScoreboardTitle;
     private String currentHeaderLabel = DEFAULT_HEADER_LABEL;
     private BukkitTask serverIdMonitorTask;
-    private BukkitTask rankRefreshTask;
-    private final Map<UUID, RankSnapshot> rankCache = new ConcurrentHashMap<>();
-    private final Map<UUID, CompletableFuture<Rank>> rankRefreshes = new ConcurrentHashMap<>();
+    private final Map<Rank, List<String>> rankLines = new EnumMap<>(Rank.class);
+    private final Map<UUID, List<String>> renderedLines = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingRefresh = new LinkedHashSet<>();
+    private boolean refreshScheduled;
 
     @Override
     public String id() {
@@ -83,7 +84,6 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
         ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
         if (locator != null) {
             scoreboardService = locator.findService(ScoreboardService.class).orElse(null);
-            rankService = locator.findService(RankService.class).orElse(null);
             serverIdentifier = locator.findService(ServerIdentifier.class).orElse(null);
             EnvironmentDirectoryService directoryService = locator.findService(EnvironmentDirectoryService.class)
                     .orElse(null);
@@ -95,13 +95,22 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
             return;
         }
 
+        rankCache = context.get(LobbyRankCache.class).orElse(null);
+        if (rankCache != null) {
+            rankListener = (playerId, previous, current) -> {
+                if (!rankLinesFor(current).equals(renderedLines.get(playerId))) {
+                    queueRefresh(playerId);
+                }
+            };
+            rankCache.addListener(rankListener);
+        }
+
         registerScoreboardDefinition(resolveHeaderLabel());
 
         PluginManager pluginManager = plugin.getServer().getPluginManager();
         pluginManager.registerEvents(this, plugin);
 
         startServerIdMonitor();
-        startRankRefreshTask();
         logger.info("Lobby scoreboard feature initialised.");
     }
 
@@ -119,13 +128,15 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
             serverIdMonitorTask.cancel();
             serverIdMonitorTask = null;
         }
-        stopRankRefreshTask();
-        rankCache.clear();
-        rankRefreshes.values().forEach(future -> future.cancel(true));
-        rankRefreshes.clear();
+        if (rankCache != null && rankListener != null) {
+            rankCache.removeListener(rankListener);
+        }
 
+        renderedLines.clear();
+        pendingRefresh.clear();
         scoreboardService = null;
-        rankService = null;
+        rankCache = null;
+        rankListener = null;
         plugin = null;
         logger = null;
         serverIdentifier = null;
@@ -142,7 +153,8 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
         if (scoreboardService != null) {
             scoreboardService.hideScoreboard(event.getPlayer().getUniqueId());
         }
-        evictRankCache(event.getPlayer().getUniqueId());
+        renderedLines.remove(event.getPlayer().getUniqueId());
+        pendingRefresh.remove(event.getPlayer().getUniqueId());
     }
 
     private void showScoreboard(UUID playerId) {
@@ -150,13 +162,63 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
             return;
         }
         refreshScoreboardDefinitionIfNeeded();
-        primeRankCache(playerId);
         scoreboardService.showScoreboard(playerId, SCOREBOARD_ID);
         scoreboardService.refreshPlayerScoreboard(playerId);
     }
 
+    /**
+     * Queues a refresh for {@code playerId}; all refreshes queued within a tick run in one task.
+     */
+    private void queueRefresh(UUID playerId) {
+        if (plugin == null || !pendingRefresh.add(playerId) || refreshScheduled) {
+            return;
+        }
+        refreshScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::flushRefreshes);
+    }
+
+    private void flushRefreshes() {
+        refreshScheduled = false;
+        if (scoreboardService == null) {
+            pendingRefresh.clear();
+            return;
+        }
+        if (pendingRefresh.isEmpty()) {
+            return;
+        }
+        // Rendering reads the rank cache, whose listeners can queue more refreshes while we iterate.
+        List<UUID> dirty = new ArrayList<>(pendingRefresh);
+        pendingRefresh.clear();
+        for (UUID playerId : dirty) {
+            if (Bukkit.getPlayer(playerId) != null) {
+                scoreboardService.refreshPlayerScoreboard(playerId);
+            }
+        }
+    }
+
+    /**
+     * Rendered module lines for {@code rank}; ranks render the same for every player, so they are built once.
+     */
+    private List<String> rankLinesFor(Rank rank) {
+        Rank resolved = rank != null ? rank : Rank.DEFAULT;
+        synchronized (rankLines) {
+            return rankLines.computeIfAbsent(resolved, LobbyScoreboardFeature::renderRankLines);
+        }
+    }
+
+    private static List<String> renderRankLines(Rank rank) {
+        String prefix = rank.getFullPrefix();
+        if (prefix == null || prefix.isBlank()) {
+            prefix = "&7[Default]";
+        }
+        return List.of("&7Rank: &r" + prefix);
+    }
+
     private Rank resolveRank(UUID playerId) {
-        return currentRank(playerId);
+        if (rankCache != null) {
+            return rankCache.rank(playerId);
+        }
+        return LobbyRankCache.runtimeRank(playerId != null ? Bukkit.getPlayer(playerId) : null);
     }
 
     private final class RankModule implements ScoreboardModule {
@@ -179,13 +241,9 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
 
         private List<String> renderLines(UUID playerId) {
             Objects.requireNonNull(playerId, "playerId");
-            Rank rank = resolveRank(playerId);
-            String prefix = rank.getFullPrefix();
-            if (prefix == null || prefix.isBlank()) {
-                prefix = "&7[Default]";
-            }
-            String line = "&7Rank: &r" + prefix;
-            return List.of(line);
+            List<String> lines = rankLinesFor(resolveRank(playerId));
+            renderedLines.put(playerId, lines);
+            return lines;
         }
     }
 
@@ -220,7 +278,6 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
         scoreboardService.registerScoreboard(SCOREBOARD_ID, definition);
         Bukkit.getOnlinePlayers().forEach(player -> {
             UUID playerId = player.getUniqueId();
-            primeRankCache(playerId);
             scoreboardService.showScoreboard(playerId, SCOREBOARD_ID);
             scoreboardService.refreshPlayerScoreboard(playerId);
         });
@@ -278,138 +335,4 @@ public final class LobbyScoreboardFeature implements LobbyFeature, Listener {
     private boolean isTemporaryIdentifier(String identifier) {
         return identifier != null && identifier.startsWith("temp-");
     }
-
-    private void startRankRefreshTask() {
-        if (plugin == null || rankRefreshTask != null) {
-            return;
-        }
-        rankRefreshTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (rankService == null) {
-                return;
-            }
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                UUID playerId = player.getUniqueId();
-                RankSnapshot snapshot = rankCache.get(playerId);
-                if (snapshot == null || snapshot.isStale(RANK_CACHE_TTL_MS)) {
-                    triggerRankRefresh(playerId);
-                }
-            }
-        }, 20L, RANK_REFRESH_TASK_INTERVAL_TICKS);
-    }
-
-    private void stopRankRefreshTask() {
-        if (rankRefreshTask != null) {
-            rankRefreshTask.cancel();
-            rankRefreshTask = null;
-        }
-    }
-
-    private void primeRankCache(UUID playerId) {
-        if (playerId == null) {
-            return;
-        }
-        rankCache.computeIfAbsent(playerId, id -> new RankSnapshot(resolveRuntimeRank(id), System.currentTimeMillis()));
-        triggerRankRefresh(playerId);
-    }
-
-    private Rank currentRank(UUID playerId) {
-        if (playerId == null) {
-            return Rank.DEFAULT;
-        }
-        RankSnapshot snapshot = rankCache.get(playerId);
-        if (snapshot == null) {
-            Rank runtime = resolveRuntimeRank(playerId);
-            rankCache.put(playerId, new RankSnapshot(runtime, System.currentTimeMillis()));
-            triggerRankRefresh(playerId);
-            return runtime != null ? runtime : Rank.DEFAULT;
-        }
-        if (snapshot.isStale(RANK_CACHE_TTL_MS)) {
-            triggerRankRefresh(playerId);
-        }
-        return snapshot.rank != null ? snapshot.rank : Rank.DEFAULT;
-    }
-
-    private Rank resolveRuntimeRank(UUID playerId) {
-        Player player = playerId != null ? Bukkit.getPlayer(playerId) : null;
-        return resolveRuntimeRank(player);
-    }
-
-    private Rank resolveRuntimeRank(Player player) {
-        if (player == null) {
-            return Rank.DEFAULT;
-        }
-        Rank rank = RankUtils.getEffectiveRank(player);
-        return rank != null ? rank : Rank.DEFAULT;
-    }
-
-    private void triggerRankRefresh(UUID playerId) {
-        if (playerId == null || rankService == null) {
-            return;
-        }
-        rankRefreshes.compute(playerId, (id, existing) -> {
-            if (existing != null && !existing.isDone()) {
-                return existing;
-            }
-            CompletableFuture<Rank> future;
-            try {
-                future = rankService.getEffectiveRank(id);
-            } catch (Exception exception) {
-                if (logger != null) {
-                    logger.log(Level.FINE, "Failed to schedule rank refresh for " + id, exception);
-                }
-                return null;
-            }
-
-            future = future.exceptionally(throwable -> {
-                if (logger != null) {
-                    logger.log(Level.FINE, "Async rank refresh failed for " + id, throwable);
-                }
-                return null;
-            });
-
-            future.whenComplete((rank, throwable) -> {
-                if (rank != null) {
-                    rankCache.put(id, new RankSnapshot(rank, System.currentTimeMillis()));
-                } else {
-                    rankCache.computeIfPresent(id, (key, snapshot) ->
-                            new RankSnapshot(snapshot.rank, System.currentTimeMillis()));
-                }
-                rankRefreshes.remove(id);
-
-                if (plugin != null && scoreboardService != null) {
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        if (scoreboardService != null && Bukkit.getPlayer(id) != null) {
-                            scoreboardService.refreshPlayerScoreboard(id);
-                        }
-                    });
-                }
-            });
-            return future;
-        });
-    }
-
-    private void evictRankCache(UUID playerId) {
-        if (playerId == null) {
-            return;
-        }
-        rankCache.remove(playerId);
-        CompletableFuture<Rank> future = rankRefreshes.remove(playerId);
-        if (future != null) {
-            future.cancel(true);
-        }
-    }
-
-    private static final class RankSnapshot {
-        private final Rank rank;
-        private final long resolvedAt;
-
-        private RankSnapshot(Rank rank, long resolvedAt) {
-            this.rank = rank;
-            this.resolvedAt = resolvedAt;
-        }
-
-        private boolean isStale(long ttlMillis) {
-            return System.currentTimeMillis() - resolvedAt >= ttlMillis;
-        }
-    }
 }
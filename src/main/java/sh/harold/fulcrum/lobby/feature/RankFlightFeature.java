@@ -19,12 +19,12 @@ import org.bukkit.event.player.PlayerToggleFlightEvent;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import sh.harold.fulcrum.api.rank.Rank;
-import sh.harold.fulcrum.api.rank.RankUtils;
+import sh.harold.fulcrum.lobby.rank.LobbyRankCache;
+import sh.harold.fulcrum.lobby.rank.RankChangeListener;
 import sh.harold.fulcrum.lobby.system.LobbyFeature;
 import sh.harold.fulcrum.lobby.system.LobbyFeatureContext;
 
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -39,6 +39,8 @@ public final class RankFlightFeature implements LobbyFeature, Listener {
 
     private final Map<UUID, Boolean> flightToggles = new ConcurrentHashMap<>();
     private JavaPlugin plugin;
+    private LobbyRankCache rankCache;
+    private RankChangeListener rankListener;
 
     @Override
     public String id() {
@@ -53,6 +55,16 @@ public final class RankFlightFeature implements LobbyFeature, Listener {
     @Override
     public void initialize(LobbyFeatureContext context) {
         this.plugin = context.plugin();
+        this.rankCache = context.get(LobbyRankCache.class).orElse(null);
+        if (rankCache != null) {
+            rankListener = (playerId, previous, current) -> {
+                Player player = plugin != null ? plugin.getServer().getPlayer(playerId) : null;
+                if (player != null) {
+                    updateFlightPerk(player);
+                }
+            };
+            rankCache.addListener(rankListener);
+        }
 
         PluginManager pluginManager = plugin.getServer().getPluginManager();
         pluginManager.registerEvents(this, plugin);
@@ -76,7 +88,12 @@ public final class RankFlightFeature implements LobbyFeature, Listener {
             plugin.getServer().getOnlinePlayers().forEach(this::resetFlight);
         }
         HandlerList.unregisterAll(this);
+        if (rankCache != null && rankListener != null) {
+            rankCache.removeListener(rankListener);
+        }
         flightToggles.clear();
+        rankCache = null;
+        rankListener = null;
         plugin = null;
     }
 
@@ -211,8 +228,20 @@ public final class RankFlightFeature implements LobbyFeature, Listener {
         }
     }
 
+    /**
+     * Grants or revokes flight after a rank change without touching the player's own toggle.
+     */
+    private void updateFlightPerk(Player player) {
+        if (!hasFlightPerk(player)) {
+            resetFlight(player);
+            return;
+        }
+        flightToggles.putIfAbsent(player.getUniqueId(), Boolean.TRUE);
+        applyFlightState(player);
+    }
+
     private boolean hasFlightPerk(Player player) {
-        Rank rank = Optional.ofNullable(RankUtils.getEffectiveRank(player)).orElse(Rank.DEFAULT);
+        Rank rank = rankCache != null ? rankCache.rank(player) : LobbyRankCache.runtimeRank(player);
         return rank != Rank.DEFAULT;
     }
 
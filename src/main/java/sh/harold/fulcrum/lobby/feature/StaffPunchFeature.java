@@ -31,6 +31,7 @@ import sh.harold.fulcrum.common.cooldown.CooldownKeys;
 import sh.harold.fulcrum.common.cooldown.CooldownRegistry;
 import sh.harold.fulcrum.common.cooldown.CooldownSpec;
 import sh.harold.fulcrum.lifecycle.ServiceLocatorImpl;
+import sh.harold.fulcrum.lobby.rank.LobbyRankCache;
 import sh.harold.fulcrum.lobby.system.LobbyFeature;
 import sh.harold.fulcrum.lobby.system.LobbyFeatureContext;
 
@@ -63,6 +64,7 @@ public final class StaffPunchFeature implements LobbyFeature, Listener {
 
     private JavaPlugin plugin;
     private CooldownRegistry cooldownRegistry;
+    private LobbyRankCache rankCache;
     private final Set<UUID> activeVictims = ConcurrentHashMap.newKeySet();
     private final Set<UUID> punchOptOuts = ConcurrentHashMap.newKeySet();
 
@@ -79,6 +81,7 @@ public final class StaffPunchFeature implements LobbyFeature, Listener {
     @Override
     public void initialize(LobbyFeatureContext context) {
         this.plugin = context.plugin();
+        this.rankCache = context.get(LobbyRankCache.class).orElse(null);
         ServiceLocatorImpl locator = ServiceLocatorImpl.getInstance();
         if (locator != null) {
             cooldownRegistry = locator.findService(CooldownRegistry.class).orElse(null);
@@ -95,6 +98,7 @@ public final class StaffPunchFeature implements LobbyFeature, Listener {
         activeVictims.clear();
         punchOptOuts.clear();
         cooldownRegistry = null;
+        rankCache = null;
         this.plugin = null;
     }
 
@@ -118,7 +122,7 @@ public final class StaffPunchFeature implements LobbyFeature, Listener {
             return;
         }
 
-        Rank attackerRank = Optional.ofNullable(RankUtils.getEffectiveRank(attacker)).orElse(Rank.DEFAULT);
+        Rank attackerRank = rankOf(attacker);
         if (attackerRank != Rank.DONATOR_4) {
             return;
         }
@@ -280,7 +284,7 @@ public final class StaffPunchFeature implements LobbyFeature, Listener {
         victim.setVelocity(launchVector);
         victim.setFallDistance(0);
 
-        Rank victimRank = Optional.ofNullable(RankUtils.getEffectiveRank(victim)).orElse(Rank.DEFAULT);
+        Rank victimRank = rankOf(victim);
         Component message = Component.empty()
                 .append(formatPlayer(attacker.getName(), attackerRank))
                 .append(Component.text(" punched ", NamedTextColor.GRAY))
@@ -294,6 +298,10 @@ public final class StaffPunchFeature implements LobbyFeature, Listener {
         }
     }
 
+    private Rank rankOf(Player player) {
+        return rankCache != null ? rankCache.rank(player) : LobbyRankCache.runtimeRank(player);
+    }
+
     private Component formatPlayer(String playerName, Rank rank) {
         String fullPrefix = rank.getFullPrefix();
         Component prefix = Component.empty();
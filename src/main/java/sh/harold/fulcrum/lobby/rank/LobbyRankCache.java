@@ -0,0 +1,468 @@
+package sh.harold.fulcrum.lobby.rank;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.fulcrum.api.rank.Rank;
+import sh.harold.fulcrum.api.rank.RankService;
+import sh.harold.fulcrum.api.rank.RankUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Effective ranks for lobby players, shared by every feature through {@code LobbyFeatureContext}.
+ *
+ * <p>Reads never block and, once a player is cached, never allocate: a stale entry is still served while a
+ * revalidation runs in the background. At most one {@link RankService} fetch is in flight per player; a
+ * player seen for the first time is seeded from {@link RankUtils} until that fetch lands. Listeners hear
+ * about ranks that actually changed, on the main thread.</p>
+ *
+ * <p>Each entry expires at a random point in the second half of its TTL, so players who joined together
+ * do not come due together. Revalidations wait in a queue and at most {@code maxConcurrentFetches} run
+ * at once.</p>
+ *
+ * <p>Changes pushed by a subscribed {@link RankChangeSource} are applied straight away, so the TTL only
+ * needs to be short when nothing pushes.</p>
+ */
+public final class LobbyRankCache {
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(10L);
+    public static final int DEFAULT_MAX_CONCURRENT_FETCHES = 8;
+
+    /**
+     * Share of the TTL an entry may expire early by, so entries fetched together drift apart.
+     */
+    private static final double TTL_JITTER = 0.5D;
+    private static final int RATE_WINDOW_SECONDS = 10;
+
+    private final JavaPlugin plugin;
+    private final RankService rankService;
+    private final long ttlNanos;
+    private final int maxConcurrentFetches;
+    private final Logger logger;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final List<RankChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<RankChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final Queue<PendingFetch> fetchQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeFetches = new AtomicInteger();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final long[] windowSeconds = new long[RATE_WINDOW_SECONDS];
+    private final long[] windowCounts = new long[RATE_WINDOW_SECONDS];
+    private final long[] windowPeakNanos = new long[RATE_WINDOW_SECONDS];
+    private final CopyOnWriteArrayList<RankChangeSource> sources = new CopyOnWriteArrayList<>();
+    private final RankPushListener pushListener = (playerId, previous, current) -> applyPushed(playerId, current);
+    private volatile boolean closed;
+
+    public LobbyRankCache(JavaPlugin plugin, RankService rankService, Duration ttl, Logger logger) {
+        this(plugin, rankService, ttl, DEFAULT_MAX_CONCURRENT_FETCHES, logger);
+    }
+
+    public LobbyRankCache(JavaPlugin plugin, RankService rankService, Duration ttl, int maxConcurrentFetches,
+                          Logger logger) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        this.rankService = rankService;
+        this.ttlNanos = Math.max(1L, Objects.requireNonNull(ttl, "ttl").toNanos());
+        this.maxConcurrentFetches = Math.max(1, maxConcurrentFetches);
+        this.logger = logger;
+    }
+
+    /**
+     * Rank resolved from the player's runtime state alone, never {@code null}.
+     */
+    public static Rank runtimeRank(Player player) {
+        if (player == null) {
+            return Rank.DEFAULT;
+        }
+        Rank rank = RankUtils.getEffectiveRank(player);
+        return rank != null ? rank : Rank.DEFAULT;
+    }
+
+    public Rank rank(Player player) {
+        if (player == null) {
+            return Rank.DEFAULT;
+        }
+        UUID playerId = player.getUniqueId();
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(playerId, id -> new Entry());
+        }
+        Rank rank = entry.rank;
+        if (rank == null) {
+            rank = seed(entry, player);
+        }
+        if (entry.isStale()) {
+            revalidate(playerId, entry);
+        }
+        return rank;
+    }
+
+    /**
+     * Same as {@link #rank(Player)}; players who are not online resolve to {@link Rank#DEFAULT} unless cached.
+     */
+    public Rank rank(UUID playerId) {
+        if (playerId == null) {
+            return Rank.DEFAULT;
+        }
+        Entry entry = entries.get(playerId);
+        if (entry == null || entry.rank == null) {
+            Player player = Bukkit.getPlayer(playerId);
+            return player != null ? rank(player) : Rank.DEFAULT;
+        }
+        if (entry.isStale()) {
+            revalidate(playerId, entry);
+        }
+        return entry.rank;
+    }
+
+    /**
+     * Starts the authoritative fetch ahead of the join, typically from the async pre-login event.
+     */
+    public void prefetch(UUID playerId) {
+        if (playerId == null || closed) {
+            return;
+        }
+        revalidate(playerId, entries.computeIfAbsent(playerId, id -> new Entry()));
+    }
+
+    /**
+     * Forces a fetch, joining the one already in flight if there is one.
+     */
+    public CompletableFuture<Rank> refresh(UUID playerId) {
+        Objects.requireNonNull(playerId, "playerId");
+        return revalidate(playerId, entries.computeIfAbsent(playerId, id -> new Entry()));
+    }
+
+    /**
+     * Revalidates stale entries of online players and drops settled entries for players who left.
+     */
+    public void revalidateStale() {
+        for (Map.Entry<UUID, Entry> cached : entries.entrySet()) {
+            Entry entry = cached.getValue();
+            if (!entry.isStale()) {
+                continue;
+            }
+            if (Bukkit.getPlayer(cached.getKey()) != null) {
+                revalidate(cached.getKey(), entry);
+            } else if (!entry.isFetching()) {
+                entries.remove(cached.getKey(), entry);
+            }
+        }
+    }
+
+    public void invalidate(UUID playerId) {
+        if (playerId != null) {
+            entries.remove(playerId);
+        }
+    }
+
+    public void addListener(RankChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeListener(RankChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Applies changes pushed by {@code source} until {@link #close()}.
+     */
+    public void subscribe(RankChangeSource source) {
+        Objects.requireNonNull(source, "source");
+        if (!closed && sources.addIfAbsent(source)) {
+            source.subscribe(pushListener);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public RankRefreshStats stats() {
+        long completed = fetches.sum();
+        long now = System.nanoTime() / 1_000_000_000L;
+        long recent = 0L;
+        long peak = 0L;
+        synchronized (windowCounts) {
+            for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+                if (now - windowSeconds[i] < RATE_WINDOW_SECONDS) {
+                    recent += windowCounts[i];
+                    peak = Math.max(peak, windowPeakNanos[i]);
+                }
+            }
+        }
+        return new RankRefreshStats(
+                completed,
+                failures.sum(),
+                fetchQueue.size(),
+                activeFetches.get(),
+                recent / (double) RATE_WINDOW_SECONDS,
+                completed == 0L ? 0L : totalLatencyNanos.sum() / completed,
+                peak
+        );
+    }
+
+    public void close() {
+        closed = true;
+        for (RankChangeSource source : sources) {
+            source.unsubscribe(pushListener);
+        }
+        sources.clear();
+        listeners.clear();
+        entries.clear();
+        pendingChanges.clear();
+        fetchQueue.clear();
+    }
+
+    private Rank seed(Entry entry, Player player) {
+        Rank runtime = runtimeRank(player);
+        synchronized (entry) {
+            if (entry.rank == null) {
+                entry.rank = runtime;
+            }
+            return entry.rank;
+        }
+    }
+
+    private CompletableFuture<Rank> revalidate(UUID playerId, Entry entry) {
+        CompletableFuture<Rank> result;
+        synchronized (entry) {
+            if (entry.inFlight != null) {
+                return entry.inFlight;
+            }
+            result = new CompletableFuture<>();
+            entry.inFlight = result;
+        }
+        fetchQueue.add(new PendingFetch(playerId, entry, result));
+        pump();
+        return result;
+    }
+
+    /**
+     * Starts queued fetches until the concurrency limit is reached or the queue is empty.
+     */
+    private void pump() {
+        while (true) {
+            int active = activeFetches.get();
+            if (active >= maxConcurrentFetches) {
+                return;
+            }
+            if (!activeFetches.compareAndSet(active, active + 1)) {
+                continue;
+            }
+            PendingFetch next = fetchQueue.poll();
+            if (next == null) {
+                activeFetches.decrementAndGet();
+                // Another thread may have queued after our poll but seen the slot we briefly held.
+                if (fetchQueue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            start(next);
+        }
+    }
+
+    private void start(PendingFetch pending) {
+        if (closed || entries.get(pending.playerId()) != pending.entry()) {
+            // The player left while queued; settle without spending a lookup.
+            activeFetches.decrementAndGet();
+            complete(pending.playerId(), pending.entry(), pending.result(), null, null, 0L);
+            return;
+        }
+        long started = System.nanoTime();
+        CompletableFuture<Rank> future = fetch(pending.playerId());
+        if (future.isDone()) {
+            // Settles inline; the calling pump loop starts the next fetch, so the queue never drains by recursion.
+            future.whenComplete((rank, throwable) -> finish(pending, started, rank, throwable));
+            return;
+        }
+        future.whenComplete((rank, throwable) -> {
+            finish(pending, started, rank, throwable);
+            pump();
+        });
+    }
+
+    private void finish(PendingFetch pending, long started, Rank rank, Throwable throwable) {
+        recordFetch(System.nanoTime() - started, throwable != null);
+        activeFetches.decrementAndGet();
+        complete(pending.playerId(), pending.entry(), pending.result(), rank, throwable, started);
+    }
+
+    private void recordFetch(long nanos, boolean failed) {
+        fetches.increment();
+        totalLatencyNanos.add(nanos);
+        if (failed) {
+            failures.increment();
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        int slot = (int) Math.floorMod(second, (long) RATE_WINDOW_SECONDS);
+        synchronized (windowCounts) {
+            if (windowSeconds[slot] != second) {
+                windowSeconds[slot] = second;
+                windowCounts[slot] = 0L;
+                windowPeakNanos[slot] = 0L;
+            }
+            windowCounts[slot]++;
+            windowPeakNanos[slot] = Math.max(windowPeakNanos[slot], nanos);
+        }
+    }
+
+    private CompletableFuture<Rank> fetch(UUID playerId) {
+        if (closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (rankService == null) {
+            Player player = Bukkit.getPlayer(playerId);
+            return CompletableFuture.completedFuture(player != null ? runtimeRank(player) : null);
+        }
+        try {
+            return rankService.getEffectiveRank(playerId);
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    private void complete(UUID playerId, Entry entry, CompletableFuture<Rank> result, Rank fetched,
+                          Throwable throwable, long startedAt) {
+        if (throwable != null && logger != null) {
+            logger.log(Level.FINE, "Async rank refresh failed for " + playerId, throwable);
+        }
+        Rank previous;
+        Rank current;
+        synchronized (entry) {
+            if (entry.inFlight == result) {
+                entry.inFlight = null;
+            }
+            // Failures also restart the TTL so an unavailable service is not hammered by every read.
+            entry.expiresAt = System.nanoTime() + jitteredTtl();
+            entry.resolved = true;
+            previous = entry.rank;
+            // A push that arrived after this fetch started is newer than what the fetch read.
+            boolean superseded = entry.pushedAt != 0L && entry.pushedAt - startedAt > 0L;
+            if (fetched != null && !superseded) {
+                entry.rank = fetched;
+            }
+            current = entry.rank;
+        }
+        result.complete(current != null ? current : Rank.DEFAULT);
+        if (fetched != null && current == fetched && fetched != previous && entries.get(playerId) == entry) {
+            notifyListeners(playerId, previous, fetched);
+        }
+    }
+
+    private void applyPushed(UUID playerId, Rank current) {
+        if (playerId == null || closed) {
+            return;
+        }
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            // Not cached yet; the first read or prefetch fetches the new rank anyway.
+            return;
+        }
+        if (current == null) {
+            CompletableFuture<Rank> inFlight;
+            synchronized (entry) {
+                entry.resolved = false;
+                inFlight = entry.inFlight;
+            }
+            if (inFlight == null) {
+                revalidate(playerId, entry);
+            } else {
+                // The running fetch may have read the old rank; fetch again once it settles.
+                inFlight.whenComplete((rank, throwable) -> revalidate(playerId, entry));
+            }
+            return;
+        }
+        Rank previous;
+        synchronized (entry) {
+            previous = entry.rank;
+            entry.rank = current;
+            entry.pushedAt = System.nanoTime();
+            entry.expiresAt = entry.pushedAt + jitteredTtl();
+            entry.resolved = true;
+        }
+        if (previous != current) {
+            notifyListeners(playerId, previous, current);
+        }
+    }
+
+    /**
+     * Queues the change for one main-thread task per tick, so listeners never run inside the read or event
+     * handler whose fetch happened to complete inline.
+     */
+    private void notifyListeners(UUID playerId, Rank previous, Rank current) {
+        if (closed || listeners.isEmpty()) {
+            return;
+        }
+        pendingChanges.add(new RankChange(playerId, previous, current));
+        if (plugin.isEnabled() && dispatchScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, this::drainChanges);
+        }
+    }
+
+    private void drainChanges() {
+        dispatchScheduled.set(false);
+        RankChange change;
+        while ((change = pendingChanges.poll()) != null) {
+            if (closed) {
+                continue;
+            }
+            for (RankChangeListener listener : listeners) {
+                try {
+                    listener.onRankChanged(change.playerId(), change.previous(), change.current());
+                } catch (RuntimeException exception) {
+                    if (logger != null) {
+                        logger.log(Level.WARNING, "Rank change listener failed for " + change.playerId(), exception);
+                    }
+                }
+            }
+        }
+    }
+
+    private long jitteredTtl() {
+        long jitter = (long) (ttlNanos * TTL_JITTER);
+        return jitter <= 0L ? ttlNanos : ttlNanos - ThreadLocalRandom.current().nextLong(jitter + 1L);
+    }
+
+    private record PendingFetch(UUID playerId, Entry entry, CompletableFuture<Rank> result) {
+    }
+
+    private record RankChange(UUID playerId, Rank previous, Rank current) {
+    }
+
+    /**
+     * Cached rank for one player; {@code inFlight} is guarded by the entry's monitor.
+     */
+    private static final class Entry {
+        private volatile Rank rank;
+        private volatile long expiresAt;
+        private volatile boolean resolved;
+        private volatile long pushedAt;
+        private CompletableFuture<Rank> inFlight;
+
+        private boolean isStale() {
+            return !resolved || System.nanoTime() - expiresAt >= 0L;
+        }
+
+        private synchronized boolean isFetching() {
+            return inFlight != null;
+        }
+    }
+}
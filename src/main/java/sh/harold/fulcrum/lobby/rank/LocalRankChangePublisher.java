@@ -0,0 +1,35 @@
+package sh.harold.fulcrum.lobby.rank;
+
+import sh.harold.fulcrum.api.rank.Rank;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process {@link RankChangeSource} for code that changes ranks inside the lobby, and for tests.
+ */
+public final class LocalRankChangePublisher implements RankChangeSource {
+    private final List<RankPushListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void subscribe(RankPushListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    @Override
+    public void unsubscribe(RankPushListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers the change to every subscriber on the calling thread.
+     */
+    public void publish(UUID playerId, Rank previous, Rank current) {
+        Objects.requireNonNull(playerId, "playerId");
+        for (RankPushListener listener : listeners) {
+            listener.onRankPushed(playerId, previous, current);
+        }
+    }
+}
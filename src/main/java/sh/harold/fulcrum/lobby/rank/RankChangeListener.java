@@ -0,0 +1,18 @@
+package sh.harold.fulcrum.lobby.rank;
+
+import sh.harold.fulcrum.api.rank.Rank;
+
+import java.util.UUID;
+
+/**
+ * Registered on {@link LobbyRankCache}; notified on the main thread when a fetch or a pushed change leaves
+ * a rank different from the one cached. {@code current} is never {@code null}. Sources that push changes
+ * use {@link RankPushListener} instead.
+ */
+@FunctionalInterface
+public interface RankChangeListener {
+    /**
+     * @param previous rank served before the change, or {@code null} if nothing had been cached yet
+     */
+    void onRankChanged(UUID playerId, Rank previous, Rank current);
+}
@@ -0,0 +1,13 @@
+package sh.harold.fulcrum.lobby.rank;
+
+/**
+ * Pushes rank changes as they happen, so the cache does not have to poll for them.
+ *
+ * <p>A runtime bridge can expose one through the Fulcrum service locator. Listeners may be called on any
+ * thread; see {@link RankPushListener} for the callback contract.</p>
+ */
+public interface RankChangeSource {
+    void subscribe(RankPushListener listener);
+
+    void unsubscribe(RankPushListener listener);
+}
@@ -0,0 +1,18 @@
+package sh.harold.fulcrum.lobby.rank;
+
+import sh.harold.fulcrum.api.rank.Rank;
+
+import java.util.UUID;
+
+/**
+ * Receives changes from a {@link RankChangeSource}. May be called on any thread, so implementations must
+ * not touch Bukkit state directly.
+ */
+@FunctionalInterface
+public interface RankPushListener {
+    /**
+     * @param previous rank the source knew before the change, or {@code null} if it did not know one
+     * @param current  new rank, or {@code null} if the rank changed but the new value is not known yet
+     */
+    void onRankPushed(UUID playerId, Rank previous, Rank current);
+}
@@ -0,0 +1,23 @@
+package sh.harold.fulcrum.lobby.rank;
+
+/**
+ * Rank fetch throughput and latency for {@link LobbyRankCache}.
+ *
+ * @param fetches             fetches completed since startup
+ * @param failures            fetches that completed exceptionally
+ * @param queued              revalidations waiting for a fetch slot
+ * @param inFlight            fetches currently running
+ * @param fetchesPerSecond    completed fetches per second over the last ten seconds
+ * @param averageLatencyNanos mean fetch latency since startup
+ * @param peakLatencyNanos    slowest fetch over the same ten seconds
+ */
+public record RankRefreshStats(
+        long fetches,
+        long failures,
+        int queued,
+        int inFlight,
+        double fetchesPerSecond,
+        long averageLatencyNanos,
+        long peakLatencyNanos
+) {
+}
@@ -90,6 +90,7 @@ public final class ConfigLoaderFeature implements LobbyFeature {
                 .minPlayers(minPlayers)
                 .maxPlayers(maxPlayers)
                 .playerEquivalentFactor(playerFactor)
+                .environmentSettings(settings)
                 .addAllMetadata(resolveMetadata(mapId, settings));
 
         EnvironmentSettings.getString(settings, JOIN_DEFAULT_KEY).ifPresent(builder::joinDefaultMessage);
@@ -4,9 +4,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 
 /**
  * Utility helpers for reading strongly typed values from the environment descriptor map.
@@ -49,6 +52,50 @@ public final class EnvironmentSettings {
         return List.of();
     }
 
+    public static OptionalDouble getDouble(Map<String, Object> settings, String path) {
+        Object value = resolve(settings, path);
+        if (value instanceof Number number) {
+            return OptionalDouble.of(number.doubleValue());
+        }
+        if (value instanceof String stringValue) {
+            try {
+                return OptionalDouble.of(Double.parseDouble(stringValue.trim()));
+            } catch (NumberFormatException ignored) {
+                return OptionalDouble.empty();
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    public static OptionalInt getInt(Map<String, Object> settings, String path) {
+        Object value = resolve(settings, path);
+        if (value instanceof Number number) {
+            return OptionalInt.of(number.intValue());
+        }
+        if (value instanceof String stringValue) {
+            try {
+                return OptionalInt.of(Integer.parseInt(stringValue.trim()));
+            } catch (NumberFormatException ignored) {
+                return OptionalInt.empty();
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    public static Optional<Boolean> getBoolean(Map<String, Object> settings, String path) {
+        Object value = resolve(settings, path);
+        if (value instanceof Boolean booleanValue) {
+            return Optional.of(booleanValue);
+        }
+        if (value instanceof String stringValue) {
+            String normalized = stringValue.trim().toLowerCase(Locale.ROOT);
+            if (normalized.equals("true") || normalized.equals("false")) {
+                return Optional.of(Boolean.parseBoolean(normalized));
+            }
+        }
+        return Optional.empty();
+    }
+
     public static Map<String, Object> getObjectMap(Map<String, Object> settings, String path) {
         Object value = resolve(settings, path);
         if (!(value instanceof Map<?, ?> map)) {